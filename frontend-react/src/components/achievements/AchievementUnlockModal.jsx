@@ -3,6 +3,7 @@ import api from '../../utils/api';
 import BadgeIcon from './BadgeIcon';
 import { TIER_COLORS, TIER_ORDER } from '../../constants/badge';
 import { useAuth } from '../../context/AuthContext';
+import useLiveEvents from '../../hooks/useLiveEvents';
 
 const formatModalDescription = (achievement) => {
     let desc = achievement.descriptionKr || '';
@@ -39,33 +40,35 @@ const AchievementUnlockModal = () => {
         shownIdsRef.current.clear();
     }, [user?.id]);
 
+    const enqueue = useCallback((items) => {
+        const newItems = items.filter(a => a && !shownIdsRef.current.has(a.id));
+        if (newItems.length > 0) {
+            newItems.forEach(a => shownIdsRef.current.add(a.id));
+            setQueue(prev => [...prev, ...newItems]);
+            api.post('/achievements/mark-read', { ids: newItems.map(a => a.id) }).catch(() => { });
+        }
+    }, []);
+
     const checkUnread = useCallback(async () => {
         try {
             const data = await api.get('/achievements/unread');
             if (data && data.length > 0) {
-                const newItems = data.filter(a => !shownIdsRef.current.has(a.id));
-                if (newItems.length > 0) {
-                    newItems.forEach(a => shownIdsRef.current.add(a.id));
-                    setQueue(prev => [...prev, ...newItems]);
-                    api.post('/achievements/mark-read', { ids: newItems.map(a => a.id) }).catch(() => { });
-                }
+                enqueue(data);
             }
         } catch {
             // silently ignore - user might not be logged in
         }
-    }, []);
+    }, [enqueue]);
 
-    // Check on mount and on navigation
-    useEffect(() => {
-        checkUnread();
-        // Delayed re-check to catch async achievements (LOGIN race condition)
-        const delayed = setTimeout(checkUnread, 2500);
-        const interval = setInterval(checkUnread, 30000);
-        return () => {
-            clearTimeout(delayed);
-            clearInterval(interval);
-        };
-    }, [checkUnread]);
+    // 달성 즉시 서버가 push (폴링 없음). 연결/재연결 시점에는 그 전에 달성된 미확인 업적을 REST로 확인
+    // (로그인 직후 비동기로 달성되는 업적이 연결보다 먼저 기록될 수 있음)
+    useLiveEvents({
+        userId: user?.id,
+        handlers: {
+            achievement: (achievement) => enqueue([achievement]),
+        },
+        onConnected: checkUnread,
+    });
 
     // Show next in queue
     useEffect(() => {
@@ -65,11 +65,11 @@ const ExamCorrection = () => {
         }
     };
 
-    const toggleCorrectness = async (answerId, currentValue) => {
+    const toggleCorrectness = async (questionId, currentValue) => {
         try {
-            await api.put(`/admin/exams/answers/${answerId}`, { isCorrect: !currentValue });
+            await api.put(`/admin/exams/${selectedExamId}/questions/${questionId}/correctness`, { isCorrect: !currentValue });
             setAnswers(prev => prev.map(a =>
-                a.id === answerId ? { ...a, isCorrect: !currentValue } : a
+                a.questionId === questionId ? { ...a, isCorrect: !currentValue } : a
             ));
             toast.success(`Answer marked as ${!currentValue ? 'correct' : 'incorrect'}`);
         } catch (error) {
@@ -180,7 +180,7 @@ const ExamCorrection = () => {
                                 </thead>
                                 <tbody>
                                     {answers.map((ans, idx) => (
-                                        <tr key={ans.id} style={{ background: ans.isCorrect ? undefined : 'rgba(239, 68, 68, 0.05)' }}>
+                                        <tr key={ans.questionId} style={{ background: ans.isCorrect ? undefined : 'rgba(239, 68, 68, 0.05)' }}>
                                             <td data-label="#">{idx + 1}</td>
                                             <td data-label="Question" style={{ maxWidth: '200px', overflow: 'hidden', textOverflow: 'ellipsis', whiteSpace: 'nowrap' }}>
                                                 {ans.questionText || '-'}
@@ -198,7 +198,7 @@ const ExamCorrection = () => {
                                             <td data-label="Toggle">
                                                 <button
                                                     className={`btn-small ${ans.isCorrect ? 'btn-danger-outline' : 'btn-success-outline'}`}
-                                                    onClick={() => toggleCorrectness(ans.id, ans.isCorrect)}
+                                                    onClick={() => toggleCorrectness(ans.questionId, ans.isCorrect)}
                                                     style={{
                                                         padding: '4px 10px',
                                                         fontSize: '0.75rem',
@@ -0,0 +1,34 @@
+import { useEffect, useRef } from 'react';
+import { subscribeLiveEvents } from '../utils/liveEvents';
+
+/**
+ * 실시간 이벤트 구독 (탭 전체가 EventSource 하나를 공유)
+ * @param {Object} options
+ * @param {any} [options.userId] 로그인 사용자 id (업적 알림을 받을 때)
+ * @param {any[]} [options.rounds] 참여자/순위/회차 상태를 받을 회차 id
+ * @param {Object<string, Function>} [options.handlers] 이벤트 타입별 핸들러 (achievement, participant, ranking, round)
+ * @param {Function} [options.onConnected] 연결될 때마다 호출, 재연결이면 인자가 true (REST로 상태를 다시 읽을 때)
+ */
+export default function useLiveEvents({ userId, rounds = [], handlers = {}, onConnected } = {}) {
+    // 핸들러는 매 렌더 최신 값을 쓰고, 연결은 userId/rounds가 바뀔 때만 다시 구독
+    const handlersRef = useRef(handlers);
+    const onConnectedRef = useRef(onConnected);
+    handlersRef.current = handlers;
+    onConnectedRef.current = onConnected;
+
+    const roundsKey = rounds.map(String).sort().join(',');
+
+    useEffect(() => {
+        if (userId == null && !roundsKey) return undefined;
+        const handlerProxy = {};
+        ['achievement', 'participant', 'ranking', 'round'].forEach(type => {
+            handlerProxy[type] = (data, event) => handlersRef.current[type]?.(data, event);
+        });
+        return subscribeLiveEvents({
+            userId,
+            rounds: roundsKey ? roundsKey.split(',') : [],
+            handlers: handlerProxy,
+            onConnected: (reconnected) => onConnectedRef.current?.(reconnected),
+        });
+    }, [userId, roundsKey]);
+}
@@ -5,6 +5,7 @@ import { toast } from 'react-toastify';
 import { LoadingSpinner } from '../components/common';
 import BadgeIcon from '../components/achievements/BadgeIcon';
 import usePageTracking from '../hooks/usePageTracking';
+import useLiveEvents from '../hooks/useLiveEvents';
 import api from '../utils/api';
 
 const ExamList = () => {
@@ -54,6 +55,45 @@ const ExamList = () => {
         }
     };
 
+    // 참여자 상태 변경을 push로 받아 해당 회차 카드만 갱신
+    const applyParticipant = (roundId, p) => {
+        setAllRounds(prev => prev.map(r => {
+            if (String(r.id) !== String(roundId)) return r;
+            const participants = r.participants || [];
+            const existing = participants.find(x => String(x.userId) === String(p.userId));
+            if (p.status === 'DELETED') {
+                return { ...r, participants: participants.filter(x => x !== existing) };
+            }
+            const entry = {
+                userId: p.userId,
+                userName: p.userName || existing?.userName || `User #${p.userId}`,
+                status: p.status,
+                score: p.score != null ? Number(p.score) : 0,
+                isPassed: !!p.isPassed,
+                submittedAt: p.submittedAt || '',
+            };
+            return {
+                ...r,
+                participants: existing
+                    ? participants.map(x => (x === existing ? entry : x))
+                    : [...participants, entry],
+            };
+        }));
+    };
+
+    useLiveEvents({
+        rounds: allRounds.filter(r => r.status !== 'COMPLETED').map(r => r.id),
+        handlers: {
+            participant: (p, event) => applyParticipant(event.roundId, p),
+            round: (data) => setAllRounds(prev => prev.map(r =>
+                String(r.id) === String(data.roundId) ? { ...r, status: data.status } : r)),
+        },
+        // 끊긴 동안의 변경은 받지 못했으므로 다시 읽음
+        onConnected: (reconnected) => {
+            if (reconnected) loadRounds();
+        },
+    });
+
     const filterRounds = () => {
         if (filter === 'ALL') {
             setFilteredRounds(allRounds);
@@ -21,6 +21,9 @@ const Logs = () => {
     const [page, setPage] = useState(0);
     const [totalPages, setTotalPages] = useState(0);
     const [total, setTotal] = useState(0);
+    // cursors[p] = p페이지를 읽을 cursor (이전 페이지 응답의 nextCursor)
+    const [cursors, setCursors] = useState([null]);
+    const [hasMore, setHasMore] = useState(false);
     const pageSize = 20;
 
     useEffect(() => {
@@ -29,12 +32,13 @@ const Logs = () => {
         loadSettings();
     }, [page]);
 
-    const loadLogs = async (overrideFilters) => {
+    const loadLogs = async (overrideFilters, targetPage = page) => {
         setLoading(true);
         const f = overrideFilters || filters;
         try {
             const params = new URLSearchParams();
-            params.append('page', page);
+            const cursor = targetPage > 0 ? cursors[targetPage] : null;
+            if (cursor) params.append('cursor', cursor);
             params.append('size', pageSize);
             if (f.action) params.append('action', f.action);
             if (f.startDate) params.append('startDate', f.startDate + 'T00:00:00');
@@ -45,6 +49,12 @@ const Logs = () => {
             setLogs(data.logs || []);
             setTotalPages(data.totalPages || 0);
             setTotal(data.total || 0);
+            setHasMore(!!data.hasMore);
+            setCursors(prev => {
+                const next = prev.slice(0, targetPage + 1);
+                next[targetPage + 1] = data.nextCursor;
+                return next;
+            });
         } catch (error) {
             console.error('Failed to load logs:', error);
         } finally {
@@ -71,15 +81,17 @@ const Logs = () => {
     };
 
     const handleSearch = () => {
+        setCursors([null]);
         setPage(0);
-        loadLogs();
+        loadLogs(undefined, 0);
     };
 
     const handleReset = () => {
         const emptyFilters = { action: '', startDate: '', endDate: '', userId: '' };
         setFilters(emptyFilters);
+        setCursors([null]);
         setPage(0);
-        loadLogs(emptyFilters);
+        loadLogs(emptyFilters, 0);
     };
 
     const handleSettingChange = (key, value) => {
@@ -351,7 +363,7 @@ const Logs = () => {
                 )}
 
                 {/* Pagination */}
-                {totalPages > 1 && (
+                {(page > 0 || hasMore) && (
                     <div className="logs-pagination">
                         <button className="clay-btn btn-sm" disabled={page === 0} onClick={() => setPage(0)}>
                             <i className="fa-solid fa-angles-left"></i>
@@ -360,12 +372,9 @@ const Logs = () => {
                             <i className="fa-solid fa-chevron-left"></i>
                         </button>
                         <span className="logs-pagination-text">{page + 1} / {totalPages}</span>
-                        <button className="clay-btn btn-sm" disabled={page >= totalPages - 1} onClick={() => setPage(p => p + 1)}>
+                        <button className="clay-btn btn-sm" disabled={!hasMore} onClick={() => setPage(p => p + 1)}>
                             <i className="fa-solid fa-chevron-right"></i>
                         </button>
-                        <button className="clay-btn btn-sm" disabled={page >= totalPages - 1} onClick={() => setPage(totalPages - 1)}>
-                            <i className="fa-solid fa-angles-right"></i>
-                        </button>
                     </div>
                 )}
             </div>
@@ -3,6 +3,7 @@ import { useParams, useNavigate } from 'react-router-dom';
 import { toast } from 'react-toastify';
 import { useAuth } from '../context/AuthContext';
 import api from '../utils/api';
+import useLiveEvents from '../hooks/useLiveEvents';
 
 const ModeSelection = () => {
     const { roundId } = useParams();
@@ -38,6 +39,22 @@ const ModeSelection = () => {
         }
     };
 
+    // 다른 탭/기기에서 이 회차를 제출하면 바로 목록으로 이동
+    useLiveEvents({
+        rounds: [roundId],
+        handlers: {
+            participant: (p) => {
+                if (user && String(p.userId) === String(user.id) && p.status === 'COMPLETED') {
+                    toast.warn('You have already submitted this exam.');
+                    navigate('/exam');
+                }
+            },
+        },
+        onConnected: (reconnected) => {
+            if (reconnected) loadRoundInfo();
+        },
+    });
+
     const selectMode = (mode) => {
         if (mode === 'ONLINE') {
             navigate(`/exam/online/${roundId}`);
@@ -6,6 +6,9 @@ import { LoadingSpinner, ConfirmModal } from '../components/common';
 import { useConfirm } from '../hooks/useConfirm';
 import api from '../utils/api';
 
+// 이 개수만큼 답안이 쌓이면 문제 이동 시 일괄 저장, 나머지는 제출/이탈 시 저장
+const FLUSH_THRESHOLD = 5;
+
 const OnlineExam = () => {
     const { roundId } = useParams();
     const navigate = useNavigate();
@@ -19,6 +22,11 @@ const OnlineExam = () => {
     const [timeLeft, setTimeLeft] = useState(0);
     const [submitting, setSubmitting] = useState(false);
     const timerRef = useRef(null);
+    // 아직 서버에 저장하지 않은 답안 (questionId -> answer)
+    const pendingRef = useRef({});
+    const examRef = useRef(null);
+    // 타이머 콜백이 오래된 클로저를 잡지 않도록 최신 submitExam을 참조
+    const submitRef = useRef(null);
 
     useEffect(() => {
         if (user) {
@@ -29,12 +37,33 @@ const OnlineExam = () => {
         };
     }, [roundId, user]);
 
+    useEffect(() => {
+        // 탭을 닫거나 새로고침할 때 남은 답안을 보냄 (keepalive로 페이지가 사라져도 전송)
+        const flushOnUnload = () => {
+            const items = takePending();
+            if (items.length === 0 || !examRef.current) return;
+            fetch(`/api/exams/${examRef.current.id}/answers`, {
+                method: 'POST',
+                headers: { 'Content-Type': 'application/json' },
+                body: JSON.stringify(items),
+                keepalive: true,
+            }).catch(() => { /* page is unloading */ });
+        };
+        window.addEventListener('beforeunload', flushOnUnload);
+        return () => {
+            window.removeEventListener('beforeunload', flushOnUnload);
+            // 페이지 내 이동으로 떠날 때도 남은 답안 저장
+            flushOnUnload();
+        };
+    }, []);
+
     const startExamSession = async () => {
         try {
             const examData = await api.post('/exams/start', {
                 userId: user.id, roundId: roundId, mode: 'ONLINE'
             });
             setExam(examData);
+            examRef.current = examData;
 
             const questionsData = await api.get(`/rounds/${roundId}/questions`);
             setQuestions(questionsData);
@@ -66,7 +95,7 @@ const OnlineExam = () => {
             setTimeLeft(prev => {
                 if (prev <= 1) {
                     clearInterval(timerRef.current);
-                    handleAutoSubmit();
+                    submitRef.current?.(true);
                     return 0;
                 }
                 return prev - 1;
@@ -74,11 +103,6 @@ const OnlineExam = () => {
         }, 1000);
     };
 
-    const handleAutoSubmit = async () => {
-        toast.info('Time is up! Submitting your exam...');
-        await submitExam();
-    };
-
     const formatTime = (seconds) => {
         const m = Math.floor(seconds / 60);
         const s = seconds % 60;
@@ -87,44 +111,63 @@ const OnlineExam = () => {
 
     const handleAnswerChange = (questionId, value) => {
         setAnswers(prev => ({ ...prev, [questionId]: value }));
+        pendingRef.current = { ...pendingRef.current, [questionId]: value };
     };
 
-    const saveCurrentAnswer = async () => {
-        if (!exam || !questions[currentQuestionIndex]) return;
-
-        const question = questions[currentQuestionIndex];
-        const answer = answers[question.id];
+    const takePending = () => {
+        const items = Object.entries(pendingRef.current)
+            .filter(([, answer]) => answer !== undefined && answer !== null && answer !== '')
+            .map(([questionId, answer]) => ({ questionId: Number(questionId), answer }));
+        pendingRef.current = {};
+        return items;
+    };
 
-        if (answer === undefined || answer === null || answer === '') return;
+    // 쌓인 답안을 한 번의 요청으로 저장 (실패하면 그 사이 바뀌지 않은 답안을 다시 대기열에 넣음)
+    const flushAnswers = async () => {
+        const examId = examRef.current?.id;
+        const items = takePending();
+        if (!examId || items.length === 0) return;
+        try {
+            await api.post(`/exams/${examId}/answers`, items);
+        } catch (error) {
+            const restored = {};
+            items.forEach(({ questionId, answer }) => { restored[questionId] = answer; });
+            pendingRef.current = { ...restored, ...pendingRef.current };
+            throw error;
+        }
+    };
 
+    const saveIfManyPending = async () => {
+        if (Object.keys(pendingRef.current).length < FLUSH_THRESHOLD) return;
         try {
-            await api.post(`/exams/${exam.id}/answer/${question.id}/text`, { answer });
+            await flushAnswers();
         } catch (error) {
-            console.error('Failed to save answer:', error);
+            console.error('Failed to save answers:', error);
         }
     };
 
     const handleNext = async () => {
-        await saveCurrentAnswer();
+        await saveIfManyPending();
         if (currentQuestionIndex < questions.length - 1) {
             setCurrentQuestionIndex(prev => prev + 1);
         }
     };
 
     const handlePrev = async () => {
-        await saveCurrentAnswer();
+        await saveIfManyPending();
         if (currentQuestionIndex > 0) {
             setCurrentQuestionIndex(prev => prev - 1);
         }
     };
 
-    const submitExam = async () => {
-        await saveCurrentAnswer();
+    const submitExam = async (timeUp = false) => {
+        if (timeUp) toast.info('Time is up! Submitting your exam...');
         setSubmitting(true);
 
         try {
-            await api.post(`/exams/${exam.id}/submit`);
-            navigate(`/result/${exam.id}`);
+            await flushAnswers();
+            await api.post(`/exams/${examRef.current.id}/submit`);
+            navigate(`/result/${examRef.current.id}`);
         } catch (error) {
             console.error('Error submitting exam:', error);
             toast.error('Failed to submit exam. Please try again.');
@@ -133,6 +176,8 @@ const OnlineExam = () => {
         }
     };
 
+    submitRef.current = submitExam;
+
     const finishExam = async () => {
         const ok = await confirm('Submit Exam', 'Are you sure you want to submit the exam?');
         if (!ok) return;
@@ -0,0 +1,110 @@
+// 서버 실시간 이벤트(/api/live/events, SSE)를 탭당 EventSource 하나로 공유
+// - 구독자들의 회차를 합쳐 한 연결로 받고, 구독 회차나 로그인 사용자가 바뀔 때만 다시 연결한다.
+// - 서버는 일정 시간 후 스트림을 닫고 브라우저가 자동 재연결한다. 끊긴 사이의 이벤트는 받지 못하므로
+//   재연결되면 구독자의 onConnected(reconnected=true)에서 REST로 현재 상태를 다시 읽는다.
+
+const LIVE_URL = '/api/live/events';
+const MAX_ROUNDS = 20;
+const RETRY_MS = 10000;
+const EVENT_TYPES = ['achievement', 'participant', 'ranking', 'round'];
+
+const subscribers = new Set();
+let source = null;
+let sourceKey = null;
+let missedEvents = false;
+let syncTimer = null;
+let retryTimer = null;
+
+const desiredConnection = () => {
+    const rounds = new Set();
+    let userId = null;
+    subscribers.forEach(s => {
+        (s.rounds || []).forEach(r => rounds.add(String(r)));
+        if (s.userId != null) userId = String(s.userId);
+    });
+    const roundList = [...rounds].sort((a, b) => Number(a) - Number(b)).slice(0, MAX_ROUNDS);
+    return { userId, rounds: roundList, key: `${userId || ''}|${roundList.join(',')}` };
+};
+
+const dispatch = (type, payload) => {
+    subscribers.forEach(s => {
+        const handler = s.handlers?.[type];
+        if (handler) handler(payload.data, payload);
+    });
+};
+
+const close = () => {
+    if (source) {
+        source.close();
+        source = null;
+    }
+    sourceKey = null;
+};
+
+const open = ({ rounds, key }) => {
+    const params = new URLSearchParams();
+    if (rounds.length > 0) params.append('rounds', rounds.join(','));
+    const es = new EventSource(params.toString() ? `${LIVE_URL}?${params}` : LIVE_URL, { withCredentials: true });
+    source = es;
+    sourceKey = key;
+
+    es.addEventListener('connected', () => {
+        const reconnected = missedEvents;
+        missedEvents = false;
+        subscribers.forEach(s => s.onConnected && s.onConnected(reconnected));
+    });
+    EVENT_TYPES.forEach(type => {
+        es.addEventListener(type, (e) => {
+            try {
+                dispatch(type, JSON.parse(e.data));
+            } catch {
+                // ignore malformed event
+            }
+        });
+    });
+    es.onerror = () => {
+        if (source !== es) return;
+        // 연결이 끊기면 그 사이 이벤트를 놓쳤을 수 있음
+        missedEvents = true;
+        if (es.readyState === EventSource.CLOSED) {
+            // 브라우저가 재연결을 포기한 경우 (서버 오류 응답 등) 잠시 후 직접 다시 연결
+            close();
+            clearTimeout(retryTimer);
+            retryTimer = setTimeout(sync, RETRY_MS);
+        }
+    };
+};
+
+const sync = () => {
+    syncTimer = null;
+    const desired = desiredConnection();
+    // 로그인하지 않았고 구독 회차도 없으면 받을 이벤트가 없음
+    if (!desired.userId && desired.rounds.length === 0) {
+        close();
+        return;
+    }
+    if (source && sourceKey === desired.key) return;
+    close();
+    open(desired);
+};
+
+// 같은 렌더에서 여러 구독이 바뀌어도 한 번만 다시 연결
+const scheduleSync = () => {
+    if (syncTimer == null) {
+        syncTimer = setTimeout(sync, 0);
+    }
+};
+
+/**
+ * 실시간 이벤트 구독
+ * @param {{ userId?: any, rounds?: any[], handlers?: Object<string, Function>, onConnected?: Function }} subscriber
+ * @returns {Function} 구독 해제
+ */
+export const subscribeLiveEvents = (subscriber) => {
+    subscribers.add(subscriber);
+    scheduleSync();
+    return () => {
+        subscribers.delete(subscriber);
+        scheduleSync();
+    };
+};
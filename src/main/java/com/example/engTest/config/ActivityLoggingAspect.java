@@ -14,8 +14,13 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
 
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 @Slf4j
 @Aspect
@@ -97,6 +102,7 @@ public class ActivityLoggingAspect {
         String targetType = null;
         Long targetId = null;
         String details = null;
+        boolean deferred = false;
 
         try {
             result = joinPoint.proceed();
@@ -149,6 +155,17 @@ public class ActivityLoggingAspect {
             // 타겟 타입 결정
             targetType = determineTargetType(methodName);
 
+            // 3. Mono/Flux 응답은 구독 후 실제 처리가 끝날 때 소요 시간과 상태를 기록
+            if (result instanceof Mono<?> || result instanceof Flux<?>) {
+                deferred = true;
+                PendingLog pending = new PendingLog(action, userId, userName, targetType, targetId,
+                        ipAddress, userAgent, requestPath, httpMethod, startTime);
+                return deferLog(result, pending);
+            }
+            if (result instanceof ResponseEntity<?> responseEntity) {
+                responseStatus = responseEntity.getStatusCode().value();
+            }
+
         } catch (Exception e) {
             responseStatus = 500;
             action = "API_ERROR";
@@ -157,7 +174,7 @@ public class ActivityLoggingAspect {
         } finally {
             long duration = System.currentTimeMillis() - startTime;
 
-            if (action != null) {
+            if (action != null && !deferred) {
                 activityLogService.logAsync(action, userId, userName, targetType,
                         targetId, details, ipAddress, userAgent, requestPath, httpMethod,
                         responseStatus, duration);
@@ -168,6 +185,51 @@ public class ActivityLoggingAspect {
         return result;
     }
 
+    /**
+     * 비동기 응답 로그: 완료/오류/취소 시점에 한 번만 기록
+     */
+    private Object deferLog(Object result, PendingLog pending) {
+        AtomicReference<Integer> status = new AtomicReference<>(200);
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        Consumer<SignalType> onFinally = signal -> {
+            Throwable e = error.get();
+            if (e != null) {
+                pending.write(activityLogService, "API_ERROR", 500, e.getMessage());
+            } else if (signal == SignalType.CANCEL) {
+                // 클라이언트가 응답 전에 연결을 끊은 경우
+                pending.write(activityLogService, pending.action(), 499, "cancelled");
+            } else {
+                pending.write(activityLogService, pending.action(), status.get(), null);
+            }
+        };
+        if (result instanceof Mono<?> mono) {
+            return mono
+                    .doOnNext(value -> {
+                        if (value instanceof ResponseEntity<?> responseEntity) {
+                            status.set(responseEntity.getStatusCode().value());
+                        }
+                    })
+                    .doOnError(error::set)
+                    .doFinally(onFinally);
+        }
+        return ((Flux<?>) result)
+                .doOnError(error::set)
+                .doFinally(onFinally);
+    }
+
+    private record PendingLog(String action, Long userId, String userName, String targetType, Long targetId,
+                              String ipAddress, String userAgent, String requestPath, String httpMethod,
+                              long startTime) {
+
+        void write(ActivityLogService activityLogService, String loggedAction, Integer responseStatus, String details) {
+            long duration = System.currentTimeMillis() - startTime;
+            activityLogService.logAsync(loggedAction, userId, userName, targetType,
+                    targetId, details, ipAddress, userAgent, requestPath, httpMethod,
+                    responseStatus, duration);
+            log.debug("Logged activity: {} for user {} ({})", loggedAction, userName, userId);
+        }
+    }
+
     private String determineAction(String methodName) {
         for (Map.Entry<String, String> entry : ACTION_MAP.entrySet()) {
             if (methodName.toLowerCase().contains(entry.getKey().toLowerCase())) {
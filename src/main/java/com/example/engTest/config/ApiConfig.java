@@ -16,5 +16,27 @@ public class ApiConfig {
         private String key;
         private String model;
         private String url;
+
+        // 다중 이미지 단어 추출: 요청 1건당 페이지 수, 동시 요청 수
+        private int extractChunkSize = 4;
+        private int extractParallelism = 3;
+
+        // 호출 타임아웃, 동시 호출 제한(bulkhead)과 대기 시간, 커넥션 풀 크기
+        private int timeoutSeconds = 60;
+        private int maxConcurrent = 8;
+        private long maxWaitMs = 5000;
+        private int maxConnections = 16;
+
+        // 디스패처: 분당 호출 수(token bucket)와 버스트, 우선순위별 최대 대기 (STANDARD는 max-wait-ms)
+        private int ratePerMinute = 60;
+        private int burst = 10;
+        private long interactiveMaxWaitMs = 2000;
+        private long bulkMaxWaitMs = 60000;
+        // 429 응답에 Retry-After가 없을 때 호출을 멈출 시간
+        private long throttleBackoffMs = 10000;
+
+        // 서킷 브레이커: 연속 실패 횟수, 차단 시간
+        private int breakerFailureThreshold = 5;
+        private long breakerOpenMs = 30000;
     }
 }
@@ -0,0 +1,30 @@
+package com.example.engTest.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * @Async 기본 실행기 설정
+ * 기본값(무제한 큐)을 쓰지 않고 풀/큐 크기를 제한한다.
+ * 업적 체크는 별도 스케줄러(AchievementCheckScheduler)에서 실행한다.
+ */
+@Configuration
+public class AsyncConfig {
+
+    @Bean(name = {"taskExecutor", "applicationTaskExecutor"})
+    public ThreadPoolTaskExecutor taskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(8);
+        executor.setQueueCapacity(1000);
+        executor.setThreadNamePrefix("async-");
+        // 큐가 가득 차면 호출 스레드에서 실행 (작업 유실 대신 요청 스레드가 속도를 늦춤)
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        return executor;
+    }
+}
@@ -2,15 +2,20 @@ package com.example.engTest.controller;
 
 import com.example.engTest.dto.*;
 import com.example.engTest.mapper.*;
+import com.example.engTest.service.AchievementCatalog;
 import com.example.engTest.service.ExamService;
 import com.example.engTest.service.QuestionService;
+import com.example.engTest.service.StatsProvider;
+import com.example.engTest.service.StatsSummaryService;
 import com.example.engTest.service.VocabularyService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 @RestController
 @RequestMapping("/api/admin")
@@ -18,12 +23,15 @@ import java.util.Map;
 public class AdminController {
 
     private final AchievementMapper achievementMapper;
+    private final AchievementCatalog achievementCatalog;
     private final BadgeMapper badgeMapper;
     private final ExamMapper examMapper;
     private final ExamAnswerMapper examAnswerMapper;
     private final ExamService examService;
     private final QuestionMapper questionMapper;
     private final QuestionService questionService;
+    private final StatsSummaryService statsSummaryService;
+    private final List<StatsProvider> statsProviders;
     private final VocabularyService vocabularyService;
 
     // === Achievement Management ===
@@ -38,12 +46,45 @@ public class AdminController {
         try {
             achievement.setId(id);
             achievementMapper.updateAchievement(achievement);
+            achievementCatalog.reload();
             return ResponseEntity.ok(achievementMapper.findById(id));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
     }
 
+    // === Operational Stats ===
+
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> getAllStats() {
+        Map<String, Object> all = new TreeMap<>();
+        for (StatsProvider provider : statsProviders) {
+            all.put(provider.getStatsName(), provider.getStats());
+        }
+        return ResponseEntity.ok(all);
+    }
+
+    @GetMapping("/stats/{name}")
+    public ResponseEntity<?> getStats(@PathVariable("name") String name) {
+        for (StatsProvider provider : statsProviders) {
+            if (provider.getStatsName().equals(name)) {
+                return ResponseEntity.ok(provider.getStats());
+            }
+        }
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", "Unknown stats: " + name));
+    }
+
+    // === Stats Summary ===
+
+    @PostMapping("/stats-summary/rebuild")
+    public ResponseEntity<?> rebuildStatsSummary() {
+        try {
+            return ResponseEntity.ok(statsSummaryService.rebuild());
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     // === Badge Management ===
 
     @GetMapping("/badges")
@@ -90,6 +131,24 @@ public class AdminController {
         }
     }
 
+    @PutMapping("/exams/{examId}/questions/{questionId}/correctness")
+    public ResponseEntity<?> updateQuestionCorrectness(
+            @PathVariable("examId") Long examId,
+            @PathVariable("questionId") Long questionId,
+            @RequestBody Map<String, Boolean> request) {
+        try {
+            Boolean isCorrect = request.get("isCorrect");
+            if (isCorrect == null) {
+                return ResponseEntity.badRequest().body(Map.of("error", "isCorrect is required"));
+            }
+            // 미응답 문제는 답안 행이 없으므로 upsert로 정오만 기록
+            examAnswerMapper.upsertIsCorrect(examId, questionId, isCorrect);
+            return ResponseEntity.ok(examAnswerMapper.findByExamAndQuestion(examId, questionId));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     @PostMapping("/exams/{examId}/recalculate")
     public ResponseEntity<?> recalculateScore(@PathVariable("examId") Long examId) {
         try {
@@ -111,8 +170,7 @@ public class AdminController {
     public ResponseEntity<?> updateQuestion(@PathVariable("id") Long id, @RequestBody Question question) {
         try {
             question.setId(id);
-            questionMapper.update(question);
-            return ResponseEntity.ok(questionMapper.findById(id));
+            return ResponseEntity.ok(questionService.updateQuestion(question));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
@@ -138,7 +196,7 @@ public class AdminController {
     @DeleteMapping("/questions/{id}")
     public ResponseEntity<?> deleteQuestion(@PathVariable("id") Long id) {
         try {
-            questionMapper.delete(id);
+            questionService.deleteQuestion(id);
             return ResponseEntity.ok(Map.of("success", true));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
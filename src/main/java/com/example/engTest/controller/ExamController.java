@@ -3,15 +3,23 @@ package com.example.engTest.controller;
 import com.example.engTest.dto.Exam;
 import com.example.engTest.dto.ExamAnswer;
 import com.example.engTest.dto.Question;
+import com.example.engTest.service.AnswerKey;
 import com.example.engTest.service.ExamService;
 import com.example.engTest.service.GeminiService;
+import com.example.engTest.service.OfflineGradingJobService;
 import com.example.engTest.service.QuestionService;
+import com.example.engTest.service.RoundLeaderboardService;
 import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.util.List;
 import java.util.Map;
@@ -26,6 +34,7 @@ public class ExamController {
     private final ExamService examService;
     private final QuestionService questionService;
     private final GeminiService geminiService;
+    private final OfflineGradingJobService offlineGradingJobService;
 
     @GetMapping
     @io.swagger.v3.oas.annotations.Operation(summary = "전체 시험 조회", description = "모든 시험 기록을 조회합니다.")
@@ -79,7 +88,7 @@ public class ExamController {
 
             Exam exam = examService.startExam(userId, roundId, mode);
             return ResponseEntity.ok(exam);
-        } catch (org.springframework.web.server.ResponseStatusException e) {
+        } catch (ResponseStatusException e) {
             return ResponseEntity.status(e.getStatusCode()).body(Map.of("error", e.getReason()));
         } catch (IllegalArgumentException | IllegalStateException e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
@@ -96,21 +105,26 @@ public class ExamController {
             @PathVariable("examId") Long examId,
             @PathVariable("questionId") Long questionId,
             @RequestParam("image") MultipartFile image,
-            @RequestParam("prompt") String prompt) {
+            @RequestParam("prompt") String prompt,
+            HttpSession session) {
         try {
-            Question question = questionService.getQuestionById(questionId);
+            examService.requireAnswerableExam(examId, (Long) session.getAttribute("userId"));
+            AnswerKey.Entry key = questionService.getAnswerEntry(questionId);
+            if (key == null) return ResponseEntity.notFound().build();
 
-            GeminiService.GradeResult result = geminiService.gradeImageAnswer(image, prompt, question.getAnswer());
+            GeminiService.GradeResult result = geminiService.gradeImageAnswer(image, prompt, key.answer());
 
             examService.submitAnswer(examId, questionId, result.extractedText(), result.extractedText(),
                     result.isCorrect());
 
             return ResponseEntity.ok(Map.of(
                     "extractedText", result.extractedText(),
-                    "correctAnswer", question.getAnswer(),
+                    "correctAnswer", key.answer(),
                     "isCorrect", result.isCorrect(),
                     "feedback", result.feedback(),
                     "imagePath", result.imagePath() != null ? result.imagePath() : ""));
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(Map.of("error", e.getReason()));
         } catch (Exception e) {
             log.error("Failed to submit answer", e);
             return ResponseEntity.internalServerError().body(Map.of("error", e.getMessage()));
@@ -122,26 +136,66 @@ public class ExamController {
     public ResponseEntity<?> submitTextAnswer(
             @PathVariable("examId") Long examId,
             @PathVariable("questionId") Long questionId,
-            @RequestBody Map<String, String> request) {
+            @RequestBody Map<String, String> request,
+            HttpSession session) {
         try {
+            examService.requireAnswerableExam(examId, (Long) session.getAttribute("userId"));
             String userAnswer = request.get("answer");
-            Question question = questionService.getQuestionById(questionId);
+            AnswerKey.Entry key = questionService.getAnswerEntry(questionId);
+            if (key == null) return ResponseEntity.notFound().build();
 
-            GeminiService.GradeResult result = geminiService.gradeTextAnswer(userAnswer, question.getAnswer(), question.getAltAnswers());
+            GeminiService.GradeResult result = geminiService.gradeTextAnswer(key, userAnswer);
 
             examService.submitAnswer(examId, questionId, userAnswer, null, result.isCorrect());
 
             return ResponseEntity.ok(Map.of(
                     "userAnswer", userAnswer,
-                    "correctAnswer", question.getAnswer(),
+                    "correctAnswer", key.answer(),
                     "isCorrect", result.isCorrect(),
                     "feedback", result.feedback()));
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(Map.of("error", e.getReason()));
         } catch (Exception e) {
             log.error("Failed to submit answer", e);
             return ResponseEntity.internalServerError().body(Map.of("error", e.getMessage()));
         }
     }
 
+    @PostMapping("/{examId}/answers")
+    @io.swagger.v3.oas.annotations.Operation(summary = "답안 일괄 제출 (텍스트)", description = "여러 문제의 텍스트 답안을 한 번에 제출하고 단건 제출과 같은 방식으로 채점합니다. 진행 중인 본인 시험만 가능하며 문제별 정오 결과를 반환합니다.")
+    public ResponseEntity<?> submitAnswersBatch(
+            @PathVariable("examId") Long examId,
+            @RequestBody List<ExamService.AnswerInput> answers,
+            HttpSession session) {
+        try {
+            if (answers == null || answers.isEmpty()) {
+                return ResponseEntity.badRequest().body(Map.of("error", "답안 목록이 비어 있습니다."));
+            }
+            for (int i = 0; i < answers.size(); i++) {
+                ExamService.AnswerInput input = answers.get(i);
+                if (input == null || input.questionId() == null) {
+                    return ResponseEntity.badRequest().body(Map.of("error", "answers[" + i + "]에 questionId가 필요합니다."));
+                }
+            }
+
+            Long userId = (Long) session.getAttribute("userId");
+            List<ExamService.AnswerResult> results = examService.submitAnswers(examId, userId, answers);
+            long correctCount = results.stream().filter(ExamService.AnswerResult::isCorrect).count();
+
+            return ResponseEntity.ok(Map.of(
+                    "examId", examId,
+                    "results", results,
+                    "correctCount", correctCount));
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(Map.of("error", e.getReason()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            log.error("Failed to submit answers", e);
+            return ResponseEntity.internalServerError().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     @PostMapping("/{examId}/submit")
     @io.swagger.v3.oas.annotations.Operation(summary = "시험 제출 (종료)", description = "시험을 종료하고 최종 점수를 계산합니다.")
     public ResponseEntity<?> submitExam(@PathVariable("examId") Long examId) {
@@ -167,9 +221,17 @@ public class ExamController {
     }
 
     @GetMapping("/ranking/{roundId}")
-    @io.swagger.v3.oas.annotations.Operation(summary = "회차별 순위", description = "특정 회차의 석차(랭킹)를 조회합니다.")
-    public ResponseEntity<List<Exam>> getRankingByRound(@PathVariable("roundId") Long roundId) {
-        return ResponseEntity.ok(examService.getRankingByRound(roundId));
+    @io.swagger.v3.oas.annotations.Operation(summary = "회차별 순위", description = "특정 회차의 석차(랭킹)를 조회합니다. limit을 주면 상위 limit명만 반환합니다.")
+    public ResponseEntity<List<Exam>> getRankingByRound(@PathVariable("roundId") Long roundId,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        return ResponseEntity.ok(examService.getRankingByRound(roundId, limit));
+    }
+
+    @GetMapping("/ranking/{roundId}/users/{userId}")
+    @io.swagger.v3.oas.annotations.Operation(summary = "회차별 개인 순위", description = "특정 회차에서 사용자의 순위와 응시자 수를 조회합니다.")
+    public ResponseEntity<RoundLeaderboardService.UserRank> getUserRank(@PathVariable("roundId") Long roundId,
+            @PathVariable("userId") Long userId) {
+        return ResponseEntity.ok(examService.getUserRank(roundId, userId));
     }
 
     @DeleteMapping("/{id}")
@@ -181,23 +243,28 @@ public class ExamController {
 
     @PostMapping("/{examId}/ocr")
     @io.swagger.v3.oas.annotations.Operation(summary = "오프라인 답안 OCR 추출", description = "오프라인 답안지 이미지를 업로드하여 답안 텍스트만 추출합니다 (채점 X).")
-    public ResponseEntity<?> extractAnswersFromImage(
+    public Mono<ResponseEntity<?>> extractAnswersFromImage(
             @PathVariable("examId") Long examId,
             @RequestParam("answerSheet") MultipartFile answerSheet) {
         try {
             ExamWithQuestions ew = getExamWithQuestions(examId);
-            if (ew == null) return ResponseEntity.notFound().build();
-
-            List<GeminiService.OcrResult> ocrResults = geminiService.extractAnswersFromImage(answerSheet,
-                    ew.questions.size());
-
-            return ResponseEntity.ok(Map.of(
-                    "examId", examId,
-                    "ocrResults", ocrResults,
-                    "questionCount", ew.questions.size()));
+            if (ew == null) return Mono.just(ResponseEntity.notFound().build());
+
+            int questionCount = ew.questions.size();
+            return geminiService.extractAnswersFromImageAsync(answerSheet, questionCount)
+                    .<ResponseEntity<?>>map(extraction -> ResponseEntity.ok(Map.of(
+                            "examId", examId,
+                            "ocrResults", extraction.ocrResults(),
+                            "questionCount", questionCount,
+                            "preprocess", extraction.preprocess(),
+                            "geminiMs", extraction.geminiMs())))
+                    .onErrorResume(e -> {
+                        log.error("Failed to extract answers from image", e);
+                        return Mono.just(errorResponse(e));
+                    });
         } catch (Exception e) {
             log.error("Failed to extract answers from image", e);
-            return ResponseEntity.internalServerError().body(Map.of("error", e.getMessage()));
+            return Mono.just(errorResponse(e));
         }
     }
 
@@ -216,7 +283,7 @@ public class ExamController {
                             (String) a.get("userAnswer")))
                     .toList();
 
-            Exam completedExam = examService.gradeOfflineAnswers(examId, answerInputs, ew.questions);
+            Exam completedExam = examService.gradeOfflineAnswers(examId, answerInputs, ew.answerKey);
 
             return ResponseEntity.ok(Map.of(
                     "exam", completedExam,
@@ -256,14 +323,58 @@ public class ExamController {
         }
     }
 
+    // === Offline batch grading ===
+
+    @PostMapping("/offline-batch")
+    @io.swagger.v3.oas.annotations.Operation(summary = "오프라인 답안지 일괄 채점", description = "답안지 N장을 시험 N개(같은 순서)에 대응시켜 업로드합니다. 채점은 백그라운드에서 병렬로 진행되며 작업 ID를 반환합니다.")
+    public ResponseEntity<?> submitOfflineBatch(
+            @RequestParam("answerSheets") List<MultipartFile> answerSheets,
+            @RequestParam("examIds") List<Long> examIds) {
+        try {
+            OfflineGradingJobService.JobStatus job = offlineGradingJobService.submit(answerSheets, examIds);
+            return ResponseEntity.accepted().body(job);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            log.error("Failed to start offline batch grading", e);
+            return ResponseEntity.internalServerError().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/offline-batch/{jobId}")
+    @io.swagger.v3.oas.annotations.Operation(summary = "일괄 채점 상태 조회", description = "일괄 채점 작업의 답안지별 진행 상태를 조회합니다.")
+    public ResponseEntity<OfflineGradingJobService.JobStatus> getOfflineBatch(@PathVariable("jobId") String jobId) {
+        OfflineGradingJobService.JobStatus job = offlineGradingJobService.getJob(jobId);
+        if (job == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(job);
+    }
+
+    @GetMapping(value = "/offline-batch/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @io.swagger.v3.oas.annotations.Operation(summary = "일괄 채점 상태 스트림", description = "상태가 바뀔 때마다 작업 스냅샷을 SSE로 보내고, 작업이 끝나면 스트림을 닫습니다.")
+    public Flux<OfflineGradingJobService.JobStatus> streamOfflineBatch(@PathVariable("jobId") String jobId) {
+        if (offlineGradingJobService.getJob(jobId) == null) {
+            return Flux.error(new ResponseStatusException(HttpStatus.NOT_FOUND, "작업을 찾을 수 없습니다."));
+        }
+        return offlineGradingJobService.events(jobId);
+    }
+
     // === Private helpers ===
 
-    private record ExamWithQuestions(Exam exam, List<Question> questions) {}
+    private record ExamWithQuestions(Exam exam, AnswerKey answerKey, List<Question> questions) {}
 
     private ExamWithQuestions getExamWithQuestions(Long examId) {
         Exam exam = examService.getExamById(examId);
         if (exam == null) return null;
-        List<Question> questions = questionService.getQuestionsByRoundId(exam.getRoundId());
-        return new ExamWithQuestions(exam, questions);
+        AnswerKey answerKey = questionService.getAnswerKey(exam.getRoundId());
+        return new ExamWithQuestions(exam, answerKey, answerKey.questions());
+    }
+
+    private ResponseEntity<?> errorResponse(Throwable e) {
+        if (e instanceof ResponseStatusException rse) {
+            return ResponseEntity.status(rse.getStatusCode()).body(Map.of("error", String.valueOf(rse.getReason())));
+        }
+        return ResponseEntity.internalServerError().body(Map.of("error", String.valueOf(e.getMessage())));
     }
 }
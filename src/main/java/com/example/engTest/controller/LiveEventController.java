@@ -0,0 +1,44 @@
+package com.example.engTest.controller;
+
+import com.example.engTest.service.LiveEventHub;
+import jakarta.servlet.http.HttpSession;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/live")
+@RequiredArgsConstructor
+@io.swagger.v3.oas.annotations.tags.Tag(name = "Live Events", description = "실시간 이벤트(SSE) API")
+public class LiveEventController {
+
+    private static final int MAX_ROUNDS = 20;
+
+    private final LiveEventHub liveEventHub;
+
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @io.swagger.v3.oas.annotations.Operation(summary = "실시간 이벤트 스트림",
+            description = "로그인 사용자의 업적 달성(achievement)과 rounds로 지정한 회차의 참여자 상태(participant), 순위(ranking), 회차 상태(round) 변경을 SSE로 보냅니다. "
+                    + "스트림은 일정 시간 후 닫히므로 클라이언트는 재연결하고, 재연결 시 REST로 현재 상태를 다시 읽어야 합니다.")
+    public Flux<ServerSentEvent<LiveEventHub.LiveEvent>> streamEvents(
+            @RequestParam(value = "rounds", required = false) List<Long> rounds,
+            HttpSession session) {
+        Long userId = (Long) session.getAttribute("userId");
+        Set<Long> roundIds = rounds != null ? new LinkedHashSet<>(rounds) : Set.of();
+        if (userId == null && roundIds.isEmpty()) {
+            return Flux.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "로그인하거나 구독할 회차(rounds)를 지정해야 합니다."));
+        }
+        if (roundIds.size() > MAX_ROUNDS) {
+            return Flux.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "회차는 최대 " + MAX_ROUNDS + "개까지 구독할 수 있습니다."));
+        }
+        return liveEventHub.connect(userId, roundIds);
+    }
+}
@@ -25,6 +25,7 @@ public class LogController {
 
     /**
      * 로그 목록 조회 (필터, 페이징)
+     * cursor(이전 응답의 nextCursor)를 주면 keyset 페이징, 없으면 page 기준
      */
     @GetMapping
     public ResponseEntity<Map<String, Object>> getLogs(
@@ -32,11 +33,16 @@ public class LogController {
             @RequestParam(name = "action", required = false) String action,
             @RequestParam(name = "startDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
             @RequestParam(name = "endDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(name = "cursor", required = false) String cursor,
             @RequestParam(name = "page", defaultValue = "0") int page,
             @RequestParam(name = "size", defaultValue = "20") int size) {
 
-        Map<String, Object> result = activityLogService.getLogs(userId, action, startDate, endDate, page, size);
-        return ResponseEntity.ok(result);
+        try {
+            Map<String, Object> result = activityLogService.getLogs(userId, action, startDate, endDate, cursor, page, size);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
 
     /**
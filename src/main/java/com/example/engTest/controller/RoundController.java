@@ -14,6 +14,10 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -65,11 +69,11 @@ public class RoundController {
 
     @PostMapping("/{id}/generate")
     @io.swagger.v3.oas.annotations.Operation(summary = "AI 문제 생성", description = "LLM(Gemini)을 사용하여 문제를 자동으로 생성합니다.")
-    public ResponseEntity<?> generateQuestions(@PathVariable("id") Long id, @RequestBody Map<String, Object> request) {
+    public Mono<ResponseEntity<?>> generateQuestions(@PathVariable("id") Long id, @RequestBody Map<String, Object> request) {
         try {
             Round round = roundService.getRoundById(id);
             if (round == null) {
-                return ResponseEntity.notFound().build();
+                return Mono.just(ResponseEntity.notFound().build());
             }
 
             int count = (int) request.getOrDefault("count", round.getQuestionCount());
@@ -78,21 +82,51 @@ public class RoundController {
             String prompt = (String) request.get("prompt");
 
             if (prompt == null || prompt.trim().isEmpty()) {
-                return ResponseEntity.badRequest().body(Map.of("error", "프롬프트가 누락되었습니다."));
+                return Mono.just(ResponseEntity.badRequest().body(Map.of("error", "프롬프트가 누락되었습니다.")));
             }
 
             // 기존 시험 기록 및 문제 삭제 (FK 에러 방지)
             cleanupRoundData(id);
 
-            // Gemini로 새 문제 생성
-            List<Question> questions = geminiService.generateQuestions(id, prompt, count, difficulty, questionType);
-            questionService.createQuestions(questions);
+            // Gemini로 새 문제 생성 (응답 대기 중에는 서블릿 스레드를 반환)
+            return geminiService.generateQuestionsAsync(id, prompt, count, difficulty, questionType)
+                    .publishOn(Schedulers.boundedElastic())
+                    .<ResponseEntity<?>>map(questions -> {
+                        questionService.createQuestions(questions);
+                        return ResponseEntity.ok(Map.of(
+                                "message", "문제가 생성되었습니다.",
+                                "count", questions.size()));
+                    })
+                    .onErrorResume(e -> {
+                        log.error("Failed to generate questions", e);
+                        return Mono.just(errorResponse(e));
+                    });
+        } catch (Exception e) {
+            log.error("Failed to generate questions", e);
+            return Mono.just(errorResponse(e));
+        }
+    }
 
+    private ResponseEntity<?> errorResponse(Throwable e) {
+        if (e instanceof ResponseStatusException rse) {
+            return ResponseEntity.status(rse.getStatusCode()).body(Map.of("error", String.valueOf(rse.getReason())));
+        }
+        return ResponseEntity.internalServerError().body(Map.of("error", String.valueOf(e.getMessage())));
+    }
+
+    @PostMapping("/extract-words")
+    @io.swagger.v3.oas.annotations.Operation(summary = "이미지 단어 추출", description = "교재 이미지들에서 영어 단어/표현을 추출합니다. 페이지를 청크로 나눠 병렬 처리합니다.")
+    public ResponseEntity<?> extractWords(
+            @RequestParam("images") List<MultipartFile> images,
+            @RequestParam("prompt") String prompt) {
+        try {
+            List<GeminiService.ChunkProgress> chunks = Collections.synchronizedList(new ArrayList<>());
+            List<String> words = geminiService.extractWordsFromImages(images, prompt, chunks::add);
             return ResponseEntity.ok(Map.of(
-                    "message", "문제가 생성되었습니다.",
-                    "count", questions.size()));
+                    "words", words,
+                    "chunks", chunks));
         } catch (Exception e) {
-            log.error("Failed to generate questions", e);
+            log.error("Failed to extract words from images", e);
             return ResponseEntity.internalServerError().body(Map.of("error", e.getMessage()));
         }
     }
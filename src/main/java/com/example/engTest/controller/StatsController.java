@@ -2,15 +2,18 @@ package com.example.engTest.controller;
 
 import com.example.engTest.dto.RoundStats;
 import com.example.engTest.dto.UserStats;
+import com.example.engTest.service.DashboardSnapshotService;
 import com.example.engTest.service.RoundService;
 import com.example.engTest.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 @RestController
 @RequestMapping("/api/stats")
@@ -20,29 +23,21 @@ public class StatsController {
 
     private final UserService userService;
     private final RoundService roundService;
+    private final DashboardSnapshotService dashboardSnapshotService;
 
     @GetMapping
-    @io.swagger.v3.oas.annotations.Operation(summary = "대시보드 통계", description = "메인 대시보드 표시를 위한 종합 통계를 조회합니다.")
-    public ResponseEntity<Map<String, Object>> getDashboard() {
-        Map<String, Object> dashboard = new HashMap<>();
-
-        List<UserStats> userStats = userService.getUserStats();
-        List<RoundStats> roundStats = roundService.getRoundStats();
-
-        dashboard.put("userStats", userStats);
-        dashboard.put("roundStats", roundStats);
-        dashboard.put("totalUsers", userStats.size());
-        dashboard.put("totalRounds", roundStats.size());
-
-        // 전체 평균 점수 계산
-        double totalAvg = roundStats.stream()
-                .filter(s -> s.getAvgScore() != null)
-                .mapToDouble(s -> s.getAvgScore().doubleValue())
-                .average()
-                .orElse(0.0);
-        dashboard.put("overallAvgScore", Math.round(totalAvg * 100) / 100.0);
-
-        return ResponseEntity.ok(dashboard);
+    @io.swagger.v3.oas.annotations.Operation(summary = "대시보드 통계", description = "메인 대시보드 표시를 위한 종합 통계를 조회합니다. ETag가 같으면(If-None-Match) 304를 반환합니다.")
+    public ResponseEntity<byte[]> getDashboard(WebRequest request) {
+        // 메모리 스냅샷을 그대로 반환 (시험/회차 변경 시 백그라운드에서 갱신됨)
+        DashboardSnapshotService.Snapshot snapshot = dashboardSnapshotService.get();
+        if (request.checkNotModified(snapshot.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(snapshot.etag()).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(snapshot.etag())
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(snapshot.body());
     }
 
     @GetMapping("/users")
@@ -3,6 +3,7 @@ package com.example.engTest.controller;
 import com.example.engTest.dto.User;
 import com.example.engTest.dto.UserStats;
 import com.example.engTest.service.AchievementService;
+import com.example.engTest.service.AchievementStatsService;
 import com.example.engTest.service.UserService;
 import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
@@ -20,6 +21,7 @@ public class UserController {
 
     private final UserService userService;
     private final AchievementService achievementService;
+    private final AchievementStatsService achievementStatsService;
 
     @GetMapping
     @io.swagger.v3.oas.annotations.Operation(summary = "전체 사용자 조회", description = "시스템에 등록된 모든 사용자를 조회합니다.")
@@ -49,6 +51,7 @@ public class UserController {
         session.setAttribute("userName", user.getName());
 
         // 업적 체크 (비동기)
+        achievementStatsService.onLogin(user.getId());
         achievementService.checkAchievements(user.getId(), "LOGIN");
 
         return ResponseEntity.ok(user);
@@ -0,0 +1,20 @@
+package com.example.engTest.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PhoneticEntry {
+    private String word;
+    private String phonetic;
+    private String source;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -45,24 +45,8 @@ public interface AchievementMapper {
 
     int calcAchievementScore(@Param("userId") Long userId);
 
-    // 업적 체크에 필요한 쿼리들
-    int countCompletedExams(@Param("userId") Long userId);
-
-    int countPassedExams(@Param("userId") Long userId);
-
-    Integer getMaxCorrectCount(@Param("userId") Long userId);
-
-    Double getAvgScore(@Param("userId") Long userId, @Param("minExams") int minExams);
-
-    int countOnlineExams(@Param("userId") Long userId);
-
-    int countOfflineExams(@Param("userId") Long userId);
-
-    int countTotalCorrect(@Param("userId") Long userId);
-
-    int countPerfectScores(@Param("userId") Long userId);
-
-    int countDistinctRounds(@Param("userId") Long userId);
+    // 업적 스냅샷 적재용: 완료 시험 이력 (제출 시각 오름차순)
+    List<java.util.Map<String, Object>> getCompletedExamHistory(@Param("userId") Long userId);
 
     int countWeekendExams(@Param("userId") Long userId);
 
@@ -71,15 +55,6 @@ public interface AchievementMapper {
 
     List<String> getExamDates(@Param("userId") Long userId);
 
-    // 랭킹 관련
-    List<java.util.Map<String, Object>> getUserRanksPerRound(@Param("userId") Long userId);
-
-    // 점수 향상 관련
-    List<Integer> getRecentScores(@Param("userId") Long userId, @Param("limit") int limit);
-
-    // 시험 시간 관련
-    List<java.util.Map<String, Object>> getExamDurations(@Param("userId") Long userId);
-
     // 4명 완료 회차 확인
     int countFullParticipationRounds(@Param("userId") Long userId);
 
@@ -92,9 +67,6 @@ public interface AchievementMapper {
     // 마지막 문제 정답 횟수
     int countLastQuestionCorrect(@Param("userId") Long userId);
 
-    // 시험 결과 목록 (만점 연속 계산용)
-    List<java.util.Map<String, Object>> getExamResults(@Param("userId") Long userId);
-
     // 관리자: 업적 수정
     void updateAchievement(Achievement achievement);
 }
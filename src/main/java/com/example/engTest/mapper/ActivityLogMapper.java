@@ -12,6 +12,8 @@ public interface ActivityLogMapper {
 
     void insert(ActivityLog log);
 
+    void insertBatch(@Param("logs") List<ActivityLog> logs);
+
     List<ActivityLog> findAll(
             @Param("userId") Long userId,
             @Param("action") String action,
@@ -20,6 +22,15 @@ public interface ActivityLogMapper {
             @Param("offset") int offset,
             @Param("limit") int limit);
 
+    List<ActivityLog> findPage(
+            @Param("userId") Long userId,
+            @Param("action") String action,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate,
+            @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+            @Param("cursorId") Long cursorId,
+            @Param("limit") int limit);
+
     int countAll(
             @Param("userId") Long userId,
             @Param("action") String action,
@@ -19,6 +19,14 @@ public interface ExamAnswerMapper {
 
     void insertBatch(@Param("list") List<ExamAnswer> examAnswers);
 
+    // (exam_id, question_id) 기준 insert 또는 update
+    void upsertAnswer(@Param("examId") Long examId, @Param("questionId") Long questionId,
+                      @Param("userAnswer") String userAnswer, @Param("isCorrect") Boolean isCorrect,
+                      @Param("ocrRawText") String ocrRawText);
+
+    // 여러 답안을 한 번에 upsert
+    void upsertAnswers(@Param("list") List<ExamAnswer> examAnswers);
+
     void update(ExamAnswer examAnswer);
 
     void updateAnswer(@Param("id") Long id, @Param("userAnswer") String userAnswer,
@@ -34,4 +42,8 @@ public interface ExamAnswerMapper {
 
     // 관리자: 정오답 수정
     void updateIsCorrect(@Param("id") Long id, @Param("isCorrect") Boolean isCorrect);
+
+    // 관리자: 정오답 수정 (답안 행이 없으면 생성)
+    void upsertIsCorrect(@Param("examId") Long examId, @Param("questionId") Long questionId,
+                         @Param("isCorrect") Boolean isCorrect);
 }
@@ -31,5 +31,7 @@ public interface ExamMapper {
 
     List<Exam> getRankingByRound(@Param("roundId") Long roundId);
 
+    List<Exam> findAllCompleted();
+
     int countCompletedByRoundId(@Param("roundId") Long roundId);
 }
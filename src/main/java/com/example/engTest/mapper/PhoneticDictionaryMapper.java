@@ -0,0 +1,23 @@
+package com.example.engTest.mapper;
+
+import com.example.engTest.dto.PhoneticEntry;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+@Mapper
+public interface PhoneticDictionaryMapper {
+
+    List<PhoneticEntry> findAll();
+
+    /**
+     * 없는 단어만 추가 (이미 있으면 유지)
+     */
+    void insertIgnoreBatch(@Param("list") List<PhoneticEntry> entries);
+
+    /**
+     * 추가하거나 발음기호 덮어쓰기
+     */
+    void upsertBatch(@Param("list") List<PhoneticEntry> entries);
+}
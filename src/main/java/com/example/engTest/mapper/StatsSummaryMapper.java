@@ -0,0 +1,31 @@
+package com.example.engTest.mapper;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+/**
+ * user_stats / round_stats 요약 테이블 갱신
+ */
+@Mapper
+public interface StatsSummaryMapper {
+
+    /**
+     * 한 사용자의 통계 행 재계산
+     */
+    int refreshUserStats(@Param("userId") Long userId);
+
+    /**
+     * 한 회차의 통계 행 재계산
+     */
+    int refreshRoundStats(@Param("roundId") Long roundId);
+
+    /**
+     * 전체 사용자 통계 재계산
+     */
+    int rebuildUserStats();
+
+    /**
+     * 전체 회차 통계 재계산
+     */
+    int rebuildRoundStats();
+}
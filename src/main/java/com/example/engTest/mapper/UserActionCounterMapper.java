@@ -14,8 +14,4 @@ public interface UserActionCounterMapper {
     int getCount(@Param("userId") Long userId, @Param("action") String action);
 
     List<UserActionCounter> findByUser(@Param("userId") Long userId);
-
-    List<String> getDistinctDates(@Param("userId") Long userId, @Param("action") String action);
-
-    int countDistinctActions(@Param("userId") Long userId, @Param("prefix") String prefix);
 }
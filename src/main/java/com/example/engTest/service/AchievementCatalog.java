@@ -0,0 +1,92 @@
+package com.example.engTest.service;
+
+import com.example.engTest.dto.Achievement;
+import com.example.engTest.mapper.AchievementMapper;
+import com.example.engTest.utils.TierUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 업적 정의 카탈로그 (메모리 상주, 불변 테이블)
+ * 티어 기준값 JSON은 적재 시 한 번만 파싱해 티어 순서(TIER_ORDER) 인덱스의 int[]로 보관한다.
+ * achievements 테이블은 관리자 수정으로만 바뀌므로, 수정 시 reload()로 테이블 전체를 새로 만들어 교체한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AchievementCatalog {
+
+    private final AchievementMapper achievementMapper;
+    private final ObjectMapper objectMapper;
+
+    private volatile Table table;
+
+    /**
+     * 업적 1건과 파싱된 티어 기준값
+     * thresholds: 티어 인덱스별 기준값 (기준 없음은 TierUtils.NO_THRESHOLD, 비티어 업적이면 null)
+     * inverted: 낮을수록 좋은 업적 (BRONZE 기준 > DIAMOND 기준, FAST_EXAM/SPEED_PASS 등)
+     */
+    public record Entry(Achievement achievement, int[] thresholds, boolean inverted) {
+        public String id() {
+            return achievement.getId();
+        }
+    }
+
+    private record Table(List<Entry> entries, Map<String, Entry> byId) {
+    }
+
+    /**
+     * 전체 업적 (display_order 순)
+     */
+    public List<Entry> entries() {
+        return current().entries();
+    }
+
+    public Entry get(String achievementId) {
+        return current().byId().get(achievementId);
+    }
+
+    /**
+     * DB에서 다시 적재해 테이블을 원자적으로 교체
+     */
+    public synchronized void reload() {
+        List<Achievement> achievements = achievementMapper.findAll();
+        List<Entry> entries = new ArrayList<>(achievements.size());
+        Map<String, Entry> byId = new HashMap<>();
+        for (Achievement a : achievements) {
+            int[] thresholds = TierUtils.parseThresholdArray(objectMapper, a.getTierThresholds());
+            Entry entry = new Entry(a, thresholds, isInverted(thresholds));
+            entries.add(entry);
+            byId.put(a.getId(), entry);
+        }
+        table = new Table(List.copyOf(entries), Map.copyOf(byId));
+        log.info("Achievement catalog loaded: {} achievements", entries.size());
+    }
+
+    private Table current() {
+        Table t = table;
+        if (t == null) {
+            synchronized (this) {
+                if (table == null) {
+                    reload();
+                }
+                t = table;
+            }
+        }
+        return t;
+    }
+
+    private boolean isInverted(int[] thresholds) {
+        if (thresholds == null) return false;
+        int bronze = thresholds[0];
+        int diamond = thresholds[TierUtils.TIER_ORDER.length - 1];
+        return bronze != TierUtils.NO_THRESHOLD && diamond != TierUtils.NO_THRESHOLD && bronze > diamond;
+    }
+}
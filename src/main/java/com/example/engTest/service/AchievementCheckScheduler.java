@@ -0,0 +1,137 @@
+package com.example.engTest.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 업적 체크 전용 스케줄러
+ * 같은 (userId, 카테고리 집합)에 대한 요청은 대기 중인 1건으로 합쳐지고, 짧은 지연(debounce) 후 한 번만 평가한다.
+ * 예: 1초 안에 TTS 클릭 10번 → STUDY_ACTION 평가 1회.
+ * 대기 건수는 max-pending으로 제한하며, 초과 요청은 버린다 (다음 이벤트에서 다시 평가되므로 업적이 유실되지 않음).
+ */
+@Slf4j
+@Service
+public class AchievementCheckScheduler {
+
+    private final long debounceMs;
+    private final int maxPending;
+    private final ScheduledThreadPoolExecutor executor;
+
+    private final Map<Key, Boolean> pending = new ConcurrentHashMap<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    private record Key(Long userId, Set<String> categories) {
+    }
+
+    public AchievementCheckScheduler(
+            @Value("${achievement.check.pool-size:2}") int poolSize,
+            @Value("${achievement.check.debounce-ms:1000}") long debounceMs,
+            @Value("${achievement.check.max-pending:1000}") int maxPending) {
+        this.debounceMs = debounceMs;
+        this.maxPending = maxPending;
+        AtomicInteger threadSeq = new AtomicInteger();
+        this.executor = new ScheduledThreadPoolExecutor(poolSize, r -> {
+            Thread t = new Thread(r, "achievement-" + threadSeq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.executor.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * 업적 체크 예약 (같은 키가 이미 대기 중이면 합쳐짐)
+     * @return 새로 예약되었으면 true, 합쳐지거나 거부되었으면 false
+     */
+    public boolean submit(Long userId, Set<String> categories, Runnable check) {
+        submitted.incrementAndGet();
+        Key key = new Key(userId, categories);
+
+        if (pending.putIfAbsent(key, Boolean.TRUE) != null) {
+            coalesced.incrementAndGet();
+            return false;
+        }
+        if (pendingCount.incrementAndGet() > maxPending) {
+            release(key);
+            rejected.incrementAndGet();
+            log.warn("Achievement check rejected (queue full): userId={}, pending={}", userId, maxPending);
+            return false;
+        }
+
+        try {
+            executor.schedule(() -> run(key, check), debounceMs, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (Exception e) {
+            release(key);
+            rejected.incrementAndGet();
+            log.warn("Achievement check rejected: userId={}, error={}", userId, e.getMessage());
+            return false;
+        }
+    }
+
+    private void run(Key key, Runnable check) {
+        // 실행 시작 시점에 키를 풀어, 평가 중 들어온 이벤트는 다음 평가로 예약되게 한다
+        release(key);
+        try {
+            check.run();
+            completed.incrementAndGet();
+        } catch (Exception e) {
+            failed.incrementAndGet();
+            log.error("Achievement check task failed: userId={}", key.userId(), e);
+        }
+    }
+
+    private void release(Key key) {
+        if (pending.remove(key) != null) {
+            pendingCount.decrementAndGet();
+        }
+    }
+
+    /**
+     * 큐 깊이 및 처리 통계
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("pending", pendingCount.get());
+        stats.put("maxPending", maxPending);
+        stats.put("queued", executor.getQueue().size());
+        stats.put("active", executor.getActiveCount());
+        stats.put("poolSize", executor.getCorePoolSize());
+        stats.put("debounceMs", debounceMs);
+        stats.put("submitted", submitted.get());
+        stats.put("coalesced", coalesced.get());
+        stats.put("rejected", rejected.get());
+        stats.put("completed", completed.get());
+        stats.put("failed", failed.get());
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,16 +1,13 @@
 package com.example.engTest.service;
 
 import com.example.engTest.mapper.AchievementMapper;
-import com.example.engTest.mapper.UserActionCounterMapper;
 import com.example.engTest.mapper.BookChapterMapper;
 import com.example.engTest.utils.TierUtils;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.util.*;
 
 @Slf4j
@@ -19,9 +16,7 @@ import java.util.*;
 public class AchievementCheckService {
 
     private final AchievementMapper achievementMapper;
-    private final UserActionCounterMapper counterMapper;
     private final BookChapterMapper bookChapterMapper;
-    private final ObjectMapper objectMapper;
 
     /**
      * 업적 체크 결과
@@ -35,120 +30,126 @@ public class AchievementCheckService {
         }
     }
 
+    /**
+     * 업적 체크 1회(pass)용 컨텍스트 생성
+     */
+    public UserFactContext createContext(UserAchievementSnapshot snapshot) {
+        return new UserFactContext(snapshot, achievementMapper, bookChapterMapper);
+    }
+
     /**
      * 특정 업적에 대해 사용자의 달성 상태를 체크
+     * 사용자 집계값은 스냅샷에서 읽고, 스냅샷에 없는 교재 진도/회차 비교 데이터는 컨텍스트에서 pass당 한 번만 조회한다.
      */
-    public CheckResult check(Long userId, String achievementId, String tierThresholds, String currentTier) {
+    public CheckResult check(UserFactContext ctx, String achievementId, int[] tierThresholds, String currentTier) {
+        UserAchievementSnapshot s = ctx.snapshot();
         try {
             return switch (achievementId) {
                 // 첫 걸음
-                case "FIRST_LOGIN" -> checkSimple(achievementMapper.countCompletedExams(userId) >= 0 ? 1 : 0, 1, currentTier);
-                case "FIRST_EXAM" -> checkSimple(achievementMapper.countCompletedExams(userId), 1, currentTier);
-                case "FIRST_PASS" -> checkSimple(achievementMapper.countPassedExams(userId), 1, currentTier);
-                case "FIRST_PERFECT" -> checkSimple(achievementMapper.countPerfectScores(userId), 1, currentTier);
-                case "FIRST_OFFLINE" -> checkSimple(achievementMapper.countOfflineExams(userId), 1, currentTier);
-                case "FIRST_STUDY" -> checkSimple(counterMapper.getCount(userId, "STUDY_PAGE_VISIT"), 1, currentTier);
-                case "FIRST_TTS" -> checkSimple(counterMapper.getCount(userId, "TTS_CLICK"), 1, currentTier);
+                case "FIRST_LOGIN" -> checkSimple(1, 1, currentTier);
+                case "FIRST_EXAM" -> checkSimple(s.getCompletedExams(), 1, currentTier);
+                case "FIRST_PASS" -> checkSimple(s.getPassedExams(), 1, currentTier);
+                case "FIRST_PERFECT" -> checkSimple(s.getPerfectScores(), 1, currentTier);
+                case "FIRST_OFFLINE" -> checkSimple(s.getOfflineExams(), 1, currentTier);
+                case "FIRST_STUDY" -> checkSimple(s.getActionCount("STUDY_PAGE_VISIT"), 1, currentTier);
+                case "FIRST_TTS" -> checkSimple(s.getActionCount("TTS_CLICK"), 1, currentTier);
 
                 // 시험 마스터
-                case "EXAM_COUNT" -> checkTiered(achievementMapper.countCompletedExams(userId), tierThresholds, currentTier);
-                case "PASS_COUNT" -> checkTiered(achievementMapper.countPassedExams(userId), tierThresholds, currentTier);
-                case "HIGH_SCORE" -> checkTiered(Optional.ofNullable(achievementMapper.getMaxCorrectCount(userId)).orElse(0), tierThresholds, currentTier);
+                case "EXAM_COUNT" -> checkTiered(s.getCompletedExams(), tierThresholds, currentTier);
+                case "PASS_COUNT" -> checkTiered(s.getPassedExams(), tierThresholds, currentTier);
+                case "HIGH_SCORE" -> checkTiered(s.getMaxCorrect(), tierThresholds, currentTier);
                 case "AVG_SCORE" -> {
-                    Double avg = achievementMapper.getAvgScore(userId, 5);
+                    Double avg = s.getAvgCorrect(5);
                     yield checkTiered(avg != null ? avg.intValue() : 0, tierThresholds, currentTier);
                 }
-                case "ONLINE_MASTER" -> checkTiered(achievementMapper.countOnlineExams(userId), tierThresholds, currentTier);
-                case "OFFLINE_MASTER" -> checkTiered(achievementMapper.countOfflineExams(userId), tierThresholds, currentTier);
+                case "ONLINE_MASTER" -> checkTiered(s.getOnlineExams(), tierThresholds, currentTier);
+                case "OFFLINE_MASTER" -> checkTiered(s.getOfflineExams(), tierThresholds, currentTier);
                 case "BOTH_MODES" -> checkSimple(
-                        (achievementMapper.countOnlineExams(userId) > 0 && achievementMapper.countOfflineExams(userId) > 0) ? 1 : 0, 1, currentTier);
-                case "TOTAL_CORRECT" -> checkTiered(achievementMapper.countTotalCorrect(userId), tierThresholds, currentTier);
+                        (s.getOnlineExams() > 0 && s.getOfflineExams() > 0) ? 1 : 0, 1, currentTier);
+                case "TOTAL_CORRECT" -> checkTiered(s.getTotalCorrect(), tierThresholds, currentTier);
 
                 // 완벽주의자
-                case "PERFECT_SCORE" -> checkTiered(achievementMapper.countPerfectScores(userId), tierThresholds, currentTier);
-                case "PERFECT_STREAK" -> checkTiered(calcPerfectStreak(userId), tierThresholds, currentTier);
-                case "PASS_STREAK" -> checkTiered(calcPassStreak(userId), tierThresholds, currentTier);
-                case "SCORE_IMPROVEMENT" -> checkTiered(calcScoreImprovement(userId), tierThresholds, currentTier);
+                case "PERFECT_SCORE" -> checkTiered(s.getPerfectScores(), tierThresholds, currentTier);
+                case "PERFECT_STREAK" -> checkTiered(s.getMaxPerfectStreak(), tierThresholds, currentTier);
+                case "PASS_STREAK" -> checkTiered(s.getMaxPassStreak(), tierThresholds, currentTier);
+                case "SCORE_IMPROVEMENT" -> checkTiered(s.getScoreImprovement(), tierThresholds, currentTier);
                 case "NEVER_FAIL" -> {
-                    int total = achievementMapper.countCompletedExams(userId);
-                    int passed = achievementMapper.countPassedExams(userId);
+                    int total = s.getCompletedExams();
+                    int passed = s.getPassedExams();
                     yield checkSimple((total >= 10 && total == passed) ? 1 : 0, 1, currentTier);
                 }
 
                 // 학습왕
-                case "VOCAB_COUNT" -> {
-                    int count = bookChapterMapper.getTotalVocabularyCountByUserId(userId);
-                    yield checkTiered(count, tierThresholds, currentTier);
-                }
-                case "TTS_COUNT" -> checkTiered(counterMapper.getCount(userId, "TTS_CLICK"), tierThresholds, currentTier);
-                case "STUDY_VISIT" -> checkTiered(counterMapper.getCount(userId, "STUDY_PAGE_VISIT"), tierThresholds, currentTier);
-                case "VIDEO_WATCH" -> checkTiered(counterMapper.getCount(userId, "VIDEO_PLAY"), tierThresholds, currentTier);
-                case "PDF_DOWNLOAD" -> checkTiered(counterMapper.getCount(userId, "PDF_DOWNLOAD"), tierThresholds, currentTier);
-                case "VOCAB_DOWNLOAD" -> checkTiered(counterMapper.getCount(userId, "VOCAB_DOWNLOAD"), tierThresholds, currentTier);
-                case "ALL_MATERIALS" -> checkSimple(counterMapper.getCount(userId, "ALL_MATERIALS_COMPLETE"), 1, currentTier);
-                case "STUDY_ROUNDS" -> checkTiered(counterMapper.countDistinctActions(userId, "STUDY_ROUND_VISIT_"), tierThresholds, currentTier);
+                case "VOCAB_COUNT" -> checkTiered(ctx.getVocabularyCount(), tierThresholds, currentTier);
+                case "TTS_COUNT" -> checkTiered(s.getActionCount("TTS_CLICK"), tierThresholds, currentTier);
+                case "STUDY_VISIT" -> checkTiered(s.getActionCount("STUDY_PAGE_VISIT"), tierThresholds, currentTier);
+                case "VIDEO_WATCH" -> checkTiered(s.getActionCount("VIDEO_PLAY"), tierThresholds, currentTier);
+                case "PDF_DOWNLOAD" -> checkTiered(s.getActionCount("PDF_DOWNLOAD"), tierThresholds, currentTier);
+                case "VOCAB_DOWNLOAD" -> checkTiered(s.getActionCount("VOCAB_DOWNLOAD"), tierThresholds, currentTier);
+                case "ALL_MATERIALS" -> checkSimple(s.getActionCount("ALL_MATERIALS_COMPLETE"), 1, currentTier);
+                case "STUDY_ROUNDS" -> checkTiered(s.countActionsWithPrefix("STUDY_ROUND_VISIT_"), tierThresholds, currentTier);
 
                 // 연속 기록
-                case "LOGIN_STREAK" -> checkTiered(calcMaxConsecutiveDays(achievementMapper.getLoginDates(userId)), tierThresholds, currentTier);
-                case "WEEKLY_ACTIVE" -> checkTiered(calcMaxWeeklyActive(achievementMapper.getLoginDates(userId)), tierThresholds, currentTier);
-                case "MONTHLY_LOGIN" -> checkTiered(calcMaxMonthlyLogin(achievementMapper.getLoginDates(userId)), tierThresholds, currentTier);
-                case "STUDY_STREAK" -> checkTiered(calcMaxConsecutiveDays(counterMapper.getDistinctDates(userId, "STUDY_PAGE_VISIT")), tierThresholds, currentTier);
+                case "LOGIN_STREAK" -> checkTiered(calcMaxConsecutiveDays(s.getLoginDates()), tierThresholds, currentTier);
+                case "WEEKLY_ACTIVE" -> checkTiered(calcMaxWeeklyActive(s.getLoginDates()), tierThresholds, currentTier);
+                case "MONTHLY_LOGIN" -> checkTiered(calcMaxMonthlyLogin(s.getLoginDates()), tierThresholds, currentTier);
+                case "STUDY_STREAK" -> checkTiered(calcMaxConsecutiveDays(s.getActionDates("STUDY_PAGE_VISIT")), tierThresholds, currentTier);
 
                 // 스피드
-                case "FAST_EXAM" -> checkTiered(calcFastestExam(userId), tierThresholds, currentTier, true);
-                case "FIRST_SUBMIT" -> checkSimple(calcFirstSubmitCount(userId) > 0 ? 1 : 0, 1, currentTier);
-                case "FIRST_SUBMIT_COUNT" -> checkTiered(calcFirstSubmitCount(userId), tierThresholds, currentTier);
-                case "SPEED_PASS" -> checkTiered(calcFastestPass(userId), tierThresholds, currentTier, true);
-                case "SLOW_AND_STEADY" -> checkSimple(calcSlowPass(userId) ? 1 : 0, 1, currentTier);
+                case "FAST_EXAM" -> checkTiered(s.getFastestExamMinutes(), tierThresholds, currentTier, true);
+                case "FIRST_SUBMIT" -> checkSimple(ctx.getFirstSubmissionCount() > 0 ? 1 : 0, 1, currentTier);
+                case "FIRST_SUBMIT_COUNT" -> checkTiered(ctx.getFirstSubmissionCount(), tierThresholds, currentTier);
+                case "SPEED_PASS" -> checkTiered(s.getFastestPassMinutes(), tierThresholds, currentTier, true);
+                case "SLOW_AND_STEADY" -> checkSimple(s.hasSlowPass() ? 1 : 0, 1, currentTier);
 
                 // 경쟁
-                case "RANK_FIRST" -> checkSimple(calcRankFirstCount(userId) > 0 ? 1 : 0, 1, currentTier);
-                case "RANK_FIRST_COUNT" -> checkTiered(calcRankFirstCount(userId), tierThresholds, currentTier);
-                case "RANK_TOP2" -> checkTiered(calcRankTop2Count(userId), tierThresholds, currentTier);
-                case "COMEBACK" -> checkSimple(calcComeback(userId) ? 1 : 0, 1, currentTier);
-                case "RIVAL_WIN" -> checkTiered(calcRivalWinMax(userId), tierThresholds, currentTier);
-                case "FULL_PARTICIPATION" -> checkTiered(achievementMapper.countDistinctRounds(userId), tierThresholds, currentTier);
-                case "WIN_STREAK" -> checkTiered(calcWinStreak(userId), tierThresholds, currentTier);
+                case "RANK_FIRST" -> checkSimple(calcRankFirstCount(s.getRoundRanks()) > 0 ? 1 : 0, 1, currentTier);
+                case "RANK_FIRST_COUNT" -> checkTiered(calcRankFirstCount(s.getRoundRanks()), tierThresholds, currentTier);
+                case "RANK_TOP2" -> checkTiered(calcRankTop2Count(s.getRoundRanks()), tierThresholds, currentTier);
+                case "COMEBACK" -> checkSimple(calcComeback(s.getRoundRanks()) ? 1 : 0, 1, currentTier);
+                case "RIVAL_WIN" -> checkTiered(calcRivalWinMax(s.getRoundRanks()), tierThresholds, currentTier);
+                case "FULL_PARTICIPATION" -> checkTiered(s.getDistinctRounds(), tierThresholds, currentTier);
+                case "WIN_STREAK" -> checkTiered(calcWinStreak(s.getRoundRanks()), tierThresholds, currentTier);
 
                 // 탐험가
-                case "FEATURE_EXPLORER" -> checkSimple(calcFeatureExplorer(userId) ? 1 : 0, 1, currentTier);
-                case "ROUND_EXPLORER" -> checkTiered(achievementMapper.countDistinctRounds(userId), tierThresholds, currentTier);
+                case "FEATURE_EXPLORER" -> checkSimple(calcFeatureExplorer(s) ? 1 : 0, 1, currentTier);
+                case "ROUND_EXPLORER" -> checkTiered(s.getDistinctRounds(), tierThresholds, currentTier);
                 // 진도 마스터
-                case "BOOK1_PROGRESS" -> checkTiered(calcBookProgress(userId, 1), tierThresholds, currentTier);
-                case "BOOK2_PROGRESS" -> checkTiered(calcBookProgress(userId, 2), tierThresholds, currentTier);
-                case "BOTH_BOOKS" -> checkTiered(Math.min(calcBookProgress(userId, 1), calcBookProgress(userId, 2)), tierThresholds, currentTier);
-                case "CHAPTER_STREAK" -> checkTiered(calcChapterStreak(userId), tierThresholds, currentTier);
-                case "PART_COMPLETE" -> checkSimple(calcCompletedParts(userId) > 0 ? 1 : 0, 1, currentTier);
-                case "PART_COUNT" -> checkTiered(calcCompletedParts(userId), tierThresholds, currentTier);
-                case "BOOK1_COMPLETE" -> checkSimple(calcBookProgress(userId, 1) >= 100 ? 1 : 0, 1, currentTier);
-                case "BOOK2_COMPLETE" -> checkSimple(calcBookProgress(userId, 2) >= 100 ? 1 : 0, 1, currentTier);
+                case "BOOK1_PROGRESS" -> checkTiered(calcBookProgress(ctx, 1), tierThresholds, currentTier);
+                case "BOOK2_PROGRESS" -> checkTiered(calcBookProgress(ctx, 2), tierThresholds, currentTier);
+                case "BOTH_BOOKS" -> checkTiered(Math.min(calcBookProgress(ctx, 1), calcBookProgress(ctx, 2)), tierThresholds, currentTier);
+                case "CHAPTER_STREAK" -> checkTiered(ctx.getCompletedChapterCount(), tierThresholds, currentTier);
+                case "PART_COMPLETE" -> checkSimple(ctx.getCompletedParts() > 0 ? 1 : 0, 1, currentTier);
+                case "PART_COUNT" -> checkTiered(ctx.getCompletedParts(), tierThresholds, currentTier);
+                case "BOOK1_COMPLETE" -> checkSimple(calcBookProgress(ctx, 1) >= 100 ? 1 : 0, 1, currentTier);
+                case "BOOK2_COMPLETE" -> checkSimple(calcBookProgress(ctx, 2) >= 100 ? 1 : 0, 1, currentTier);
 
                 // 숨겨진
-                case "EXACTLY_HALF" -> checkSimple(calcExactlyHalf(userId) ? 1 : 0, 1, currentTier);
-                case "SCORE_PALINDROME" -> checkSimple(calcPalindrome(userId) ? 1 : 0, 1, currentTier);
-                case "LAST_SECOND" -> checkSimple(achievementMapper.countLastQuestionCorrect(userId), 1, currentTier);
-                case "ZERO_HERO" -> checkSimple(calcZeroHero(userId) ? 1 : 0, 1, currentTier);
-                case "FOUR_COMPLETE" -> checkSimple(achievementMapper.countFullParticipationRounds(userId) > 0 ? 1 : 0, 1, currentTier);
-                case "SAME_SCORE" -> checkSimple(achievementMapper.countSameScoreExams(userId) > 0 ? 1 : 0, 1, currentTier);
+                case "EXACTLY_HALF" -> checkSimple(s.hasExactlyHalf() ? 1 : 0, 1, currentTier);
+                case "SCORE_PALINDROME" -> checkSimple(s.hasPalindromeScore() ? 1 : 0, 1, currentTier);
+                case "LAST_SECOND" -> checkSimple(ctx.getLastQuestionCorrect(), 1, currentTier);
+                case "ZERO_HERO" -> checkSimple(s.hasZeroScore() ? 1 : 0, 1, currentTier);
+                case "FOUR_COMPLETE" -> checkSimple(ctx.getFullParticipationRounds() > 0 ? 1 : 0, 1, currentTier);
+                case "SAME_SCORE" -> checkSimple(ctx.getSameScoreExams() > 0 ? 1 : 0, 1, currentTier);
 
                 // 레전드
                 case "LEGEND_SCHOLAR" -> {
-                    Double avg = achievementMapper.getAvgScore(userId, 20);
+                    Double avg = s.getAvgCorrect(20);
                     yield checkSimple(avg != null && avg >= 27 ? 1 : 0, 1, currentTier);
                 }
-                case "LEGEND_MARATHON" -> checkSimple(achievementMapper.countCompletedExams(userId) >= 100 ? 1 : 0, 1, currentTier);
+                case "LEGEND_MARATHON" -> checkSimple(s.getCompletedExams() >= 100 ? 1 : 0, 1, currentTier);
                 case "LEGEND_COMPLETE" -> checkSimple(
-                        (calcBookProgress(userId, 1) >= 100 && calcBookProgress(userId, 2) >= 100) ? 1 : 0, 1, currentTier);
-                case "LEGEND_PERFECT_10" -> checkSimple(achievementMapper.countPerfectScores(userId) >= 10 ? 1 : 0, 1, currentTier);
+                        (calcBookProgress(ctx, 1) >= 100 && calcBookProgress(ctx, 2) >= 100) ? 1 : 0, 1, currentTier);
+                case "LEGEND_PERFECT_10" -> checkSimple(s.getPerfectScores() >= 10 ? 1 : 0, 1, currentTier);
                 case "LEGEND_STREAK_30" -> checkSimple(
-                        calcMaxConsecutiveDays(achievementMapper.getLoginDates(userId)) >= 30 ? 1 : 0, 1, currentTier);
+                        calcMaxConsecutiveDays(s.getLoginDates()) >= 30 ? 1 : 0, 1, currentTier);
                 case "LEGEND_GRANDMASTER" -> checkSimple(
-                        achievementMapper.countGoldOrAboveByUser(userId) >= 20 ? 1 : 0, 1, currentTier);
+                        ctx.getGoldOrAboveCount() >= 20 ? 1 : 0, 1, currentTier);
 
                 default -> CheckResult.unchanged(0);
             };
         } catch (Exception e) {
-            log.error("Achievement check error: userId={}, achievementId={}", userId, achievementId, e);
+            log.error("Achievement check error: userId={}, achievementId={}", ctx.getUserId(), achievementId, e);
             return CheckResult.unchanged(0);
         }
     }
@@ -162,26 +163,24 @@ public class AchievementCheckService {
         return CheckResult.unchanged(value);
     }
 
-    private CheckResult checkTiered(int value, String thresholdsJson, String currentTier) {
-        return checkTiered(value, thresholdsJson, currentTier, false);
+    private CheckResult checkTiered(int value, int[] thresholds, String currentTier) {
+        return checkTiered(value, thresholds, currentTier, false);
     }
 
     /**
      * 티어 체크 (reverse=true: 값이 작을수록 좋음, 스피드 업적용)
      */
-    private CheckResult checkTiered(int value, String thresholdsJson, String currentTier, boolean reverse) {
+    private CheckResult checkTiered(int value, int[] thresholds, String currentTier, boolean reverse) {
         if (reverse && value <= 0) return CheckResult.unchanged(0);
-        Map<String, Integer> thresholds = TierUtils.parseThresholds(objectMapper, thresholdsJson);
         if (thresholds == null) return CheckResult.unchanged(value);
 
         String highestNew = null;
         int currentTierIndex = TierUtils.indexOf(currentTier);
 
-        for (int i = 0; i < TierUtils.TIER_ORDER.length; i++) {
-            Integer threshold = thresholds.get(TierUtils.TIER_ORDER[i]);
-            boolean met = reverse
-                    ? (threshold != null && value <= threshold)
-                    : (threshold != null && value >= threshold);
+        for (int i = 0; i < thresholds.length; i++) {
+            int threshold = thresholds[i];
+            if (threshold == TierUtils.NO_THRESHOLD) continue;
+            boolean met = reverse ? value <= threshold : value >= threshold;
             if (met && i > currentTierIndex) {
                 highestNew = TierUtils.TIER_ORDER[i];
             }
@@ -195,159 +194,64 @@ public class AchievementCheckService {
 
     // === 계산 헬퍼 메서드들 ===
 
-    private int calcMaxConsecutiveDays(List<String> dateStrings) {
-        if (dateStrings == null || dateStrings.isEmpty()) return 0;
-        List<LocalDate> dates = dateStrings.stream()
-                .map(s -> LocalDate.parse(s.trim(), DateTimeFormatter.ISO_LOCAL_DATE))
-                .sorted()
-                .toList();
+    private int calcMaxConsecutiveDays(List<LocalDate> dates) {
+        if (dates == null || dates.isEmpty()) return 0;
+        List<LocalDate> sorted = dates.stream().sorted().toList();
         int max = 1, current = 1;
-        for (int i = 1; i < dates.size(); i++) {
-            if (dates.get(i).equals(dates.get(i - 1).plusDays(1))) {
+        for (int i = 1; i < sorted.size(); i++) {
+            if (sorted.get(i).equals(sorted.get(i - 1).plusDays(1))) {
                 current++;
                 max = Math.max(max, current);
-            } else if (!dates.get(i).equals(dates.get(i - 1))) {
+            } else if (!sorted.get(i).equals(sorted.get(i - 1))) {
                 current = 1;
             }
         }
         return max;
     }
 
-    private int calcMaxWeeklyActive(List<String> dateStrings) {
-        if (dateStrings == null || dateStrings.isEmpty()) return 0;
+    private int calcMaxWeeklyActive(List<LocalDate> dates) {
+        if (dates == null || dates.isEmpty()) return 0;
         Map<String, Set<Integer>> weekDays = new HashMap<>();
-        for (String ds : dateStrings) {
-            LocalDate d = LocalDate.parse(ds.trim());
+        for (LocalDate d : dates) {
             String weekKey = d.getYear() + "-W" + String.format("%02d", d.get(java.time.temporal.WeekFields.ISO.weekOfWeekBasedYear()));
             weekDays.computeIfAbsent(weekKey, k -> new HashSet<>()).add(d.getDayOfWeek().getValue());
         }
         return weekDays.values().stream().mapToInt(Set::size).max().orElse(0);
     }
 
-    private int calcMaxMonthlyLogin(List<String> dateStrings) {
-        if (dateStrings == null || dateStrings.isEmpty()) return 0;
+    private int calcMaxMonthlyLogin(List<LocalDate> dates) {
+        if (dates == null || dates.isEmpty()) return 0;
         Map<String, Set<Integer>> monthDays = new HashMap<>();
-        for (String ds : dateStrings) {
-            LocalDate d = LocalDate.parse(ds.trim());
+        for (LocalDate d : dates) {
             String monthKey = d.getYear() + "-" + String.format("%02d", d.getMonthValue());
             monthDays.computeIfAbsent(monthKey, k -> new HashSet<>()).add(d.getDayOfMonth());
         }
         return monthDays.values().stream().mapToInt(Set::size).max().orElse(0);
     }
 
-    private int calcPerfectStreak(Long userId) {
-        List<Map<String, Object>> exams = achievementMapper.getExamResults(userId);
-        if (exams.isEmpty()) return 0;
-        int max = 0, streak = 0;
-        for (Map<String, Object> exam : exams) {
-            int correct = ((Number) exam.get("correct_count")).intValue();
-            int total = ((Number) exam.get("total_count")).intValue();
-            if (correct == total) {
-                streak++;
-                max = Math.max(max, streak);
-            } else {
-                streak = 0;
-            }
-        }
-        return max;
-    }
-
-    private int calcPassStreak(Long userId) {
-        List<Map<String, Object>> exams = achievementMapper.getExamDurations(userId);
-        if (exams.isEmpty()) return 0;
-        List<Map<String, Object>> sorted = new ArrayList<>(exams);
-        Collections.reverse(sorted); // ASC로 변환
-        int max = 0, current = 0;
-        for (Map<String, Object> exam : sorted) {
-            Object isPassed = exam.get("is_passed");
-            boolean passed = isPassed != null && (isPassed.equals(true) || isPassed.equals(1) || isPassed.equals(1L));
-            if (passed) {
-                current++;
-                max = Math.max(max, current);
-            } else {
-                current = 0;
-            }
-        }
-        return max;
+    private int calcRankFirstCount(List<Integer> ranks) {
+        return (int) ranks.stream().filter(r -> r == 1).count();
     }
 
-    private int calcScoreImprovement(Long userId) {
-        List<Integer> scores = achievementMapper.getRecentScores(userId, 2);
-        if (scores.size() < 2) return 0;
-        // scores[0] = 최근, scores[1] = 이전
-        return Math.max(0, scores.get(0) - scores.get(1));
+    private int calcRankTop2Count(List<Integer> ranks) {
+        return (int) ranks.stream().filter(r -> r <= 2).count();
     }
 
-    private int calcFastestExam(Long userId) {
-        List<Map<String, Object>> durations = achievementMapper.getExamDurations(userId);
-        return durations.stream()
-                .map(d -> ((Number) d.get("duration_minutes")).intValue())
-                .filter(m -> m > 0)
-                .min(Integer::compareTo)
-                .orElse(999);
-    }
-
-    private int calcFastestPass(Long userId) {
-        List<Map<String, Object>> durations = achievementMapper.getExamDurations(userId);
-        return durations.stream()
-                .filter(d -> {
-                    Object isPassed = d.get("is_passed");
-                    return isPassed != null && (isPassed.equals(true) || isPassed.equals(1) || isPassed.equals(1L));
-                })
-                .map(d -> ((Number) d.get("duration_minutes")).intValue())
-                .filter(m -> m > 0)
-                .min(Integer::compareTo)
-                .orElse(999);
-    }
-
-    private boolean calcSlowPass(Long userId) {
-        List<Map<String, Object>> durations = achievementMapper.getExamDurations(userId);
-        return durations.stream().anyMatch(d -> {
-            Object isPassed = d.get("is_passed");
-            boolean passed = isPassed != null && (isPassed.equals(true) || isPassed.equals(1) || isPassed.equals(1L));
-            int minutes = ((Number) d.get("duration_minutes")).intValue();
-            return passed && minutes >= 30;
-        });
-    }
-
-    private int calcRankFirstCount(Long userId) {
-        List<Map<String, Object>> ranks = achievementMapper.getUserRanksPerRound(userId);
-        return (int) ranks.stream()
-                .filter(r -> r.get("user_rank") != null && ((Number) r.get("user_rank")).intValue() == 1)
-                .count();
-    }
-
-    private int calcRankTop2Count(Long userId) {
-        List<Map<String, Object>> ranks = achievementMapper.getUserRanksPerRound(userId);
-        return (int) ranks.stream()
-                .filter(r -> r.get("user_rank") != null && ((Number) r.get("user_rank")).intValue() <= 2)
-                .count();
-    }
-
-    private boolean calcComeback(Long userId) {
-        List<Map<String, Object>> ranks = achievementMapper.getUserRanksPerRound(userId);
+    private boolean calcComeback(List<Integer> ranks) {
         if (ranks.size() < 2) return false;
         for (int i = 1; i < ranks.size(); i++) {
-            int prevRank = ((Number) ranks.get(i - 1).get("user_rank")).intValue();
-            int currRank = ((Number) ranks.get(i).get("user_rank")).intValue();
-            if (prevRank >= 4 && currRank == 1) return true;
+            if (ranks.get(i - 1) >= 4 && ranks.get(i) == 1) return true;
         }
         return false;
     }
 
-    private int calcRivalWinMax(Long userId) {
-        return calcRankFirstCount(userId);
-    }
-
-    private int calcFirstSubmitCount(Long userId) {
-        return achievementMapper.countFirstSubmissions(userId);
+    private int calcRivalWinMax(List<Integer> ranks) {
+        return calcRankFirstCount(ranks);
     }
 
-    private int calcWinStreak(Long userId) {
-        List<Map<String, Object>> ranks = achievementMapper.getUserRanksPerRound(userId);
+    private int calcWinStreak(List<Integer> ranks) {
         int max = 0, streak = 0;
-        for (Map<String, Object> r : ranks) {
-            int rank = ((Number) r.get("user_rank")).intValue();
+        for (int rank : ranks) {
             if (rank == 1) {
                 streak++;
                 max = Math.max(max, streak);
@@ -358,50 +262,18 @@ public class AchievementCheckService {
         return max;
     }
 
-    private boolean calcFeatureExplorer(Long userId) {
+    private boolean calcFeatureExplorer(UserAchievementSnapshot s) {
         String[] features = {"STUDY_PAGE_VISIT", "EXAM_PAGE_VISIT", "HISTORY_PAGE_VISIT", "ANALYTICS_PAGE_VISIT", "PROGRESS_PAGE_VISIT"};
         for (String f : features) {
-            if (counterMapper.getCount(userId, f) == 0) return false;
+            if (s.getActionCount(f) == 0) return false;
         }
         return true;
     }
 
-    private int calcBookProgress(Long userId, int bookId) {
-        List<Long> completedIds = bookChapterMapper.findCompletedChapterIdsByUserIdAndBookId(userId, bookId);
-        long count = completedIds != null ? completedIds.size() : 0;
+    private int calcBookProgress(UserFactContext ctx, int bookId) {
+        long count = ctx.getCompletedChapterCount(bookId);
         int total = (bookId == 1) ? 83 : 100;
         return total > 0 ? (int) (count * 100 / total) : 0;
     }
 
-    private int calcChapterStreak(Long userId) {
-        List<Long> ids = bookChapterMapper.findCompletedChapterIdsByUserId(userId);
-        return ids != null ? ids.size() : 0;
-    }
-
-    private int calcCompletedParts(Long userId) {
-        return bookChapterMapper.countCompletedParts(userId);
-    }
-
-    private boolean calcExactlyHalf(Long userId) {
-        List<Map<String, Object>> durations = achievementMapper.getExamDurations(userId);
-        return durations.stream().anyMatch(d -> {
-            int cc = ((Number) d.get("correct_count")).intValue();
-            return cc == 15;
-        });
-    }
-
-    private boolean calcPalindrome(Long userId) {
-        List<Map<String, Object>> durations = achievementMapper.getExamDurations(userId);
-        return durations.stream().anyMatch(d -> {
-            int cc = ((Number) d.get("correct_count")).intValue();
-            String s = String.valueOf(cc);
-            return s.length() >= 2 && s.equals(new StringBuilder(s).reverse().toString());
-        });
-    }
-
-    private boolean calcZeroHero(Long userId) {
-        List<Map<String, Object>> durations = achievementMapper.getExamDurations(userId);
-        return durations.stream().anyMatch(d -> ((Number) d.get("correct_count")).intValue() == 0);
-    }
-
 }
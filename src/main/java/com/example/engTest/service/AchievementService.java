@@ -5,24 +5,32 @@ import com.example.engTest.dto.AchievementProgress;
 import com.example.engTest.dto.UserAchievement;
 import com.example.engTest.mapper.AchievementMapper;
 import com.example.engTest.utils.TierUtils;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
-public class AchievementService {
+public class AchievementService implements StatsProvider {
 
     private final AchievementMapper achievementMapper;
     private final AchievementCheckService checkService;
+    private final AchievementStatsService statsService;
     private final BadgeService badgeService;
-    private final ObjectMapper objectMapper;
+    private final AchievementCatalog catalog;
+    private final AchievementCheckScheduler checkScheduler;
+    private final DashboardSnapshotService dashboardSnapshotService;
+    private final LiveEventHub liveEventHub;
+
+    // 업적 체크 pass 간 누적: 컨텍스트 재사용으로 생략한 쿼리 수
+    private final AtomicLong queriesAvoided = new AtomicLong();
 
     // 이벤트별 체크할 업적 카테고리 매핑
     private static final Map<String, Set<String>> EVENT_CATEGORIES = Map.of(
@@ -33,17 +41,21 @@ public class AchievementService {
     );
 
     /**
-     * 비동기로 업적 체크 실행
+     * 업적 체크 예약 (AchievementCheckScheduler에서 비동기 실행)
      * ExamService.submitExam(), UserController.login() 등에서 호출
+     * 같은 사용자/카테고리의 연속 요청은 한 번의 평가로 합쳐진다.
      */
-    @Async
     public void checkAchievements(Long userId, String triggerEvent) {
+        Set<String> categories = EVENT_CATEGORIES.getOrDefault(triggerEvent, EVENT_CATEGORIES.get("ALL"));
+        checkScheduler.submit(userId, categories, () -> runChecks(userId, triggerEvent, categories));
+    }
+
+    private void runChecks(Long userId, String triggerEvent, Set<String> categories) {
         try {
             log.info("Checking achievements: userId={}, event={}", userId, triggerEvent);
-            Set<String> categories = EVENT_CATEGORIES.getOrDefault(triggerEvent, EVENT_CATEGORIES.get("ALL"));
 
-            List<Achievement> allAchievements = achievementMapper.findAll();
             List<UserAchievement> existing = achievementMapper.findUserAchievements(userId);
+            UserFactContext ctx = checkService.createContext(statsService.getSnapshot(userId));
 
             // 기존 달성 현황 맵 (achievementId -> 최고 티어)
             Map<String, String> existingTiers = new HashMap<>();
@@ -54,25 +66,37 @@ public class AchievementService {
                 }
             }
 
-            for (Achievement achievement : allAchievements) {
+            boolean unlocked = false;
+            for (AchievementCatalog.Entry entry : catalog.entries()) {
+                Achievement achievement = entry.achievement();
                 if (!categories.contains(achievement.getCategory())) continue;
 
                 try {
                     String currentTier = existingTiers.get(achievement.getId());
                     AchievementCheckService.CheckResult result = checkService.check(
-                            userId, achievement.getId(), achievement.getTierThresholds(), currentTier);
+                            ctx, achievement.getId(), entry.thresholds(), currentTier);
 
                     // 진행도 업데이트
-                    updateProgress(userId, achievement, result.currentValue());
+                    updateProgress(userId, entry, result.currentValue());
 
                     // 새로 달성한 경우
                     if (result.changed()) {
                         unlockAchievement(userId, achievement, result.highestNewTier(), result.currentValue());
+                        unlocked = true;
                     }
                 } catch (Exception e) {
                     log.warn("Achievement check skipped: userId={}, achievement={}, error={}", userId, achievement.getId(), e.getMessage());
                 }
             }
+
+            // 업적 점수는 대시보드 사용자 통계에 포함됨
+            if (unlocked) {
+                dashboardSnapshotService.invalidate();
+            }
+
+            queriesAvoided.addAndGet(ctx.getQueriesAvoided());
+            log.info("Achievement check done: userId={}, event={}, queries={}, queriesAvoided={}",
+                    userId, triggerEvent, ctx.getQueriesIssued(), ctx.getQueriesAvoided());
         } catch (Exception e) {
             log.error("Achievement check failed: userId={}, event={}", userId, triggerEvent, e);
         }
@@ -98,6 +122,7 @@ public class AchievementService {
                             .build();
                     achievementMapper.insertUserAchievement(ua);
                     log.info("Achievement unlocked: userId={}, achievement={}, tier={}", userId, achievement.getId(), TierUtils.TIER_ORDER[i]);
+                    publishUnlocked(ua, achievement);
                 }
             }
         } else {
@@ -110,6 +135,7 @@ public class AchievementService {
                     .build();
             achievementMapper.insertUserAchievement(ua);
             log.info("Achievement unlocked: userId={}, achievement={}", userId, achievement.getId());
+            publishUnlocked(ua, achievement);
         }
 
         // 뱃지 수여 체크
@@ -125,29 +151,52 @@ public class AchievementService {
         }
     }
 
-    private void updateProgress(Long userId, Achievement achievement, int currentValue) {
+    /**
+     * 접속 중인 사용자에게 업적 달성 알림 전송 (트랜잭션 중이면 커밋 후)
+     */
+    private void publishUnlocked(UserAchievement ua, Achievement achievement) {
+        ua.setNameKr(achievement.getNameKr());
+        ua.setNameEn(achievement.getNameEn());
+        ua.setDescriptionKr(achievement.getDescriptionKr());
+        ua.setIcon(achievement.getIcon());
+        ua.setCategory(achievement.getCategory());
+        ua.setIsTiered(achievement.getIsTiered());
+        ua.setTierThresholds(achievement.getTierThresholds());
+        Runnable publish = () -> liveEventHub.publishToUser(ua.getUserId(), "achievement", ua);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish.run();
+                }
+            });
+        } else {
+            publish.run();
+        }
+    }
+
+    private void updateProgress(Long userId, AchievementCatalog.Entry entry, int currentValue) {
+        Achievement achievement = entry.achievement();
         if (achievement.getIsTiered() == null || !achievement.getIsTiered()) return;
 
-        Map<String, Integer> thresholds = TierUtils.parseThresholds(objectMapper, achievement.getTierThresholds());
+        int[] thresholds = entry.thresholds();
         if (thresholds == null) return;
 
-        // 역방향 업적 감지 (낮을수록 좋음: FAST_EXAM, SPEED_PASS 등)
-        Integer bronzeVal = thresholds.get("BRONZE");
-        Integer diamondVal = thresholds.get("DIAMOND");
-        boolean inverted = bronzeVal != null && diamondVal != null && bronzeVal > diamondVal;
+        // 역방향 업적 (낮을수록 좋음: FAST_EXAM, SPEED_PASS 등)
+        boolean inverted = entry.inverted();
 
         // 다음 티어 찾기
         String nextTier = null;
         int targetValue = 0;
 
-        for (String t : TierUtils.TIER_ORDER) {
-            Integer threshold = thresholds.get(t);
-            if (threshold == null) continue;
+        for (int i = 0; i < thresholds.length; i++) {
+            int threshold = thresholds[i];
+            if (threshold == TierUtils.NO_THRESHOLD) continue;
             // 역방향: 현재값 > 기준값이면 아직 미달성 (시간이 더 걸림)
             // 정방향: 현재값 < 기준값이면 아직 미달성
             boolean notReached = inverted ? currentValue > threshold : currentValue < threshold;
             if (notReached) {
-                nextTier = t;
+                nextTier = TierUtils.TIER_ORDER[i];
                 targetValue = threshold;
                 break;
             }
@@ -155,7 +204,8 @@ public class AchievementService {
 
         if (nextTier == null) {
             // 모든 티어 달성
-            targetValue = thresholds.getOrDefault("DIAMOND", 0);
+            int diamond = thresholds[thresholds.length - 1];
+            targetValue = diamond != TierUtils.NO_THRESHOLD ? diamond : 0;
             nextTier = "COMPLETE";
         }
 
@@ -195,4 +245,26 @@ public class AchievementService {
         summary.put("achievementScore", achievementMapper.calcAchievementScore(userId));
         return summary;
     }
+
+    /**
+     * 서버 기동 이후 업적 체크에서 생략된 누적 쿼리 수
+     */
+    public long getQueriesAvoided() {
+        return queriesAvoided.get();
+    }
+
+    @Override
+    public String getStatsName() {
+        return "achievement-check";
+    }
+
+    /**
+     * 업적 체크 큐 통계 + 생략된 쿼리 수
+     */
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>(checkScheduler.getStats());
+        stats.put("queriesAvoided", getQueriesAvoided());
+        return stats;
+    }
 }
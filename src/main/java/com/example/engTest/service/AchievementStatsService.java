@@ -0,0 +1,178 @@
+package com.example.engTest.service;
+
+import com.example.engTest.dto.Exam;
+import com.example.engTest.dto.UserActionCounter;
+import com.example.engTest.mapper.AchievementMapper;
+import com.example.engTest.mapper.UserActionCounterMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 업적 체크용 사용자 집계 스냅샷 관리
+ * 스냅샷은 사용자당 최초 1회만 DB에서 적재하고, 이후에는 이벤트(시험 완료/로그인/액션)로 증분 갱신한다.
+ * 최근에 쓴 max-users명까지만 보관하고, 밀려난 사용자는 다음 체크 때 다시 적재한다.
+ */
+@Slf4j
+@Service
+public class AchievementStatsService {
+
+    private final AchievementMapper achievementMapper;
+    private final UserActionCounterMapper counterMapper;
+    private final RoundLeaderboardService roundLeaderboardService;
+
+    // 접근 순서 LRU (스냅샷 적재는 잠금 밖에서 하고 putIfAbsent로 넣음)
+    private final Map<Long, UserAchievementSnapshot> snapshots;
+
+    public AchievementStatsService(AchievementMapper achievementMapper,
+            UserActionCounterMapper counterMapper,
+            RoundLeaderboardService roundLeaderboardService,
+            @Value("${achievement.snapshot.max-users:5000}") int maxUsers) {
+        this.achievementMapper = achievementMapper;
+        this.counterMapper = counterMapper;
+        this.roundLeaderboardService = roundLeaderboardService;
+        this.snapshots = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, UserAchievementSnapshot> eldest) {
+                return size() > maxUsers;
+            }
+        });
+    }
+
+    /**
+     * 사용자 스냅샷 조회 (없으면 DB에서 적재, 순위가 바뀌었으면 순위만 재조회)
+     */
+    public UserAchievementSnapshot getSnapshot(Long userId) {
+        UserAchievementSnapshot snapshot = snapshots.get(userId);
+        if (snapshot == null) {
+            UserAchievementSnapshot loaded = load(userId);
+            snapshot = snapshots.putIfAbsent(userId, loaded);
+            if (snapshot == null) {
+                snapshot = loaded;
+            }
+        }
+        refreshRanksIfStale(snapshot);
+        return snapshot;
+    }
+
+    // === 이벤트 ===
+
+    /**
+     * 시험 완료 반영 (트랜잭션 중이면 커밋 후, 롤백되면 반영하지 않음)
+     * 스냅샷이 아직 없으면 다음 적재 때 커밋된 시험이 DB에서 읽히므로 건너뜀
+     */
+    public void onExamCompleted(Exam exam) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    applyExam(exam);
+                }
+            });
+        } else {
+            applyExam(exam);
+        }
+    }
+
+    private void applyExam(Exam exam) {
+        UserAchievementSnapshot snapshot = snapshots.get(exam.getUserId());
+        if (snapshot == null) return;
+        Integer duration = (exam.getStartedAt() != null && exam.getSubmittedAt() != null)
+                ? (int) Duration.between(exam.getStartedAt(), exam.getSubmittedAt()).toMinutes()
+                : null;
+        boolean weekend = exam.getSubmittedAt() != null && isWeekend(exam.getSubmittedAt().getDayOfWeek());
+        snapshot.applyExam(exam.getId(), exam.getRoundId(), exam.getMode(),
+                exam.getCorrectCount() != null ? exam.getCorrectCount() : 0,
+                exam.getTotalCount() != null ? exam.getTotalCount() : 0,
+                Boolean.TRUE.equals(exam.getIsPassed()), duration, weekend);
+    }
+
+    /**
+     * 로그인 반영 (날짜 집합이므로 중복 반영되어도 무방)
+     */
+    public void onLogin(Long userId) {
+        getSnapshot(userId).applyLogin(LocalDate.now());
+    }
+
+    /**
+     * 액션 카운터 증가 반영
+     * DB 증가가 이미 커밋된 뒤 호출되므로, 스냅샷이 아직 없으면 다음 적재 때 DB 값으로 반영된다.
+     */
+    public void onAction(Long userId, String action) {
+        UserAchievementSnapshot snapshot = snapshots.get(userId);
+        if (snapshot != null) {
+            snapshot.applyAction(action, LocalDate.now());
+        }
+    }
+
+    /**
+     * 기존 시험 결과가 수정된 경우 (관리자 재채점 등): 해당 사용자 스냅샷 폐기
+     */
+    public void invalidate(Long userId) {
+        snapshots.remove(userId);
+    }
+
+    /**
+     * 시험 삭제 등 여러 사용자에 영향을 주는 변경: 전체 스냅샷 폐기
+     */
+    public void invalidateAll() {
+        snapshots.clear();
+    }
+
+    // === 적재 ===
+
+    private UserAchievementSnapshot load(Long userId) {
+        UserAchievementSnapshot snapshot = new UserAchievementSnapshot(userId);
+
+        for (Map<String, Object> exam : achievementMapper.getCompletedExamHistory(userId)) {
+            Object isPassed = exam.get("is_passed");
+            boolean passed = isPassed != null && (isPassed.equals(true) || isPassed.equals(1) || isPassed.equals(1L));
+            Number duration = (Number) exam.get("duration_minutes");
+            Number dow = (Number) exam.get("submit_dow");
+            snapshot.applyExam(
+                    ((Number) exam.get("exam_id")).longValue(),
+                    ((Number) exam.get("round_id")).longValue(),
+                    (String) exam.get("mode"),
+                    ((Number) exam.get("correct_count")).intValue(),
+                    ((Number) exam.get("total_count")).intValue(),
+                    passed,
+                    duration != null ? duration.intValue() : null,
+                    dow != null && (dow.intValue() == 1 || dow.intValue() == 7));
+        }
+
+        for (String date : achievementMapper.getLoginDates(userId)) {
+            snapshot.applyLogin(LocalDate.parse(date.trim()));
+        }
+
+        for (UserActionCounter counter : counterMapper.findByUser(userId)) {
+            snapshot.applyActionCount(counter.getAction(),
+                    counter.getCount() != null ? counter.getCount() : 0,
+                    counter.getLastPerformedAt() != null ? counter.getLastPerformedAt().toLocalDate() : null);
+        }
+
+        log.debug("Achievement snapshot loaded: userId={}, exams={}", userId, snapshot.getCompletedExams());
+        return snapshot;
+    }
+
+    /**
+     * 회차 순위는 다른 사용자의 제출로도 바뀌므로, 순위표 버전이 바뀌었으면 순위표에서 다시 읽음
+     */
+    private void refreshRanksIfStale(UserAchievementSnapshot snapshot) {
+        long version = roundLeaderboardService.getVersion();
+        if (snapshot.getRanksVersion() == version) return;
+        snapshot.updateRanks(roundLeaderboardService.getUserRanks(snapshot.getUserId()), version);
+    }
+
+    private boolean isWeekend(DayOfWeek day) {
+        return day == DayOfWeek.SATURDAY || day == DayOfWeek.SUNDAY;
+    }
+}
@@ -11,9 +11,11 @@ import org.springframework.stereotype.Service;
 public class ActionCounterService {
 
     private final UserActionCounterMapper counterMapper;
+    private final AchievementStatsService achievementStatsService;
 
     public void increment(Long userId, String action) {
         counterMapper.incrementOrInsert(userId, action);
+        achievementStatsService.onAction(userId, action);
     }
 
     public int getCount(Long userId, String action) {
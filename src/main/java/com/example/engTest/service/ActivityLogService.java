@@ -2,26 +2,50 @@ package com.example.engTest.service;
 
 import com.example.engTest.dto.ActivityLog;
 import com.example.engTest.mapper.ActivityLogMapper;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class ActivityLogService {
 
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_COUNT_CACHE_ENTRIES = 256;
+
     private final ActivityLogMapper activityLogMapper;
     private final LogSettingService logSettingService;
+    private final ActivityLogWriter activityLogWriter;
+    private final long countCacheTtlMs;
+
+    // 필터 조합 -> 전체 건수 (페이지를 넘길 때마다 COUNT(*)를 다시 하지 않도록 count-cache-seconds 동안 재사용)
+    private final Map<String, CachedCount> countCache = new ConcurrentHashMap<>();
+
+    private record CachedCount(int total, long countedAt) {
+    }
+
+    public ActivityLogService(ActivityLogMapper activityLogMapper,
+            LogSettingService logSettingService,
+            ActivityLogWriter activityLogWriter,
+            @Value("${activity-log.count-cache-seconds:60}") long countCacheSeconds) {
+        this.activityLogMapper = activityLogMapper;
+        this.logSettingService = logSettingService;
+        this.activityLogWriter = activityLogWriter;
+        this.countCacheTtlMs = countCacheSeconds * 1000;
+    }
 
     /**
-     * 활동 로그 기록 (비동기)
+     * 활동 로그 기록 (비동기, ActivityLogWriter 버퍼를 거쳐 배치 INSERT)
      * Note: Request 관련 정보(ip, userAgent, path, method)는 호출 전에 미리 추출해서 전달해야 함
      */
     @Async
@@ -49,8 +73,9 @@ public class ActivityLogService {
                     .durationMs(durationMs)
                     .build();
 
-            activityLogMapper.insert(logEntry);
-            log.debug("Activity logged: {} for user {}", action, userName);
+            if (activityLogWriter.enqueue(logEntry)) {
+                log.debug("Activity logged: {} for user {}", action, userName);
+            }
         } catch (Exception e) {
             log.error("Failed to save activity log", e);
         }
@@ -58,12 +83,35 @@ public class ActivityLogService {
 
     /**
      * 로그 목록 조회 (페이징)
+     * - cursor가 있으면 keyset 페이징: 이전 페이지 마지막 행의 (created_at, id) 다음부터 읽으므로 몇 번째 페이지든 비용이 같다.
+     * - cursor 없이 page > 0이면 기존 OFFSET 페이징 (이전 클라이언트 호환용)
+     * - total은 필터별로 잠시 캐시한 값이라 방금 기록된 로그가 빠져 있을 수 있다.
+     * 응답의 nextCursor를 다음 요청의 cursor로 넘기면 되고, hasMore가 false면 마지막 페이지다.
      */
     public Map<String, Object> getLogs(Long userId, String action,
-            LocalDateTime startDate, LocalDateTime endDate, int page, int size) {
-        int offset = page * size;
-        List<ActivityLog> logs = activityLogMapper.findAll(userId, action, startDate, endDate, offset, size);
-        int total = activityLogMapper.countAll(userId, action, startDate, endDate);
+            LocalDateTime startDate, LocalDateTime endDate, String cursor, int page, int size) {
+        size = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        List<ActivityLog> logs;
+        if (cursor != null && !cursor.isBlank()) {
+            Cursor after = Cursor.decode(cursor);
+            logs = activityLogMapper.findPage(userId, action, startDate, endDate, after.createdAt(), after.id(), size + 1);
+        } else if (page > 0) {
+            logs = activityLogMapper.findAll(userId, action, startDate, endDate, page * size, size + 1);
+        } else {
+            logs = activityLogMapper.findPage(userId, action, startDate, endDate, null, null, size + 1);
+        }
+
+        // 한 건 더 읽어 다음 페이지가 있는지 판단
+        boolean hasMore = logs.size() > size;
+        if (hasMore) {
+            logs = new ArrayList<>(logs.subList(0, size));
+        }
+        String nextCursor = null;
+        if (hasMore) {
+            ActivityLog last = logs.get(logs.size() - 1);
+            nextCursor = new Cursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        int total = countLogs(userId, action, startDate, endDate);
 
         Map<String, Object> result = new HashMap<>();
         result.put("logs", logs);
@@ -71,6 +119,8 @@ public class ActivityLogService {
         result.put("page", page);
         result.put("size", size);
         result.put("totalPages", (int) Math.ceil((double) total / size));
+        result.put("hasMore", hasMore);
+        result.put("nextCursor", nextCursor);
         return result;
     }
 
@@ -96,6 +146,7 @@ public class ActivityLogService {
 
         LocalDateTime beforeDate = LocalDateTime.now().minusDays(retentionDays);
         int deletedCount = activityLogMapper.deleteOlderThan(beforeDate);
+        countCache.clear();
         log.info("Deleted {} old logs (older than {} days)", deletedCount, retentionDays);
         return deletedCount;
     }
@@ -107,6 +158,45 @@ public class ActivityLogService {
         return activityLogMapper.findDistinctActions();
     }
 
+    /**
+     * 필터별 전체 건수 (캐시 만료 시에만 COUNT(*))
+     */
+    private int countLogs(Long userId, String action, LocalDateTime startDate, LocalDateTime endDate) {
+        String key = userId + "|" + action + "|" + startDate + "|" + endDate;
+        long now = System.currentTimeMillis();
+        CachedCount cached = countCache.get(key);
+        if (cached != null && now - cached.countedAt() < countCacheTtlMs) {
+            return cached.total();
+        }
+        int total = activityLogMapper.countAll(userId, action, startDate, endDate);
+        if (countCache.size() >= MAX_COUNT_CACHE_ENTRIES) {
+            countCache.clear();
+        }
+        countCache.put(key, new CachedCount(total, now));
+        return total;
+    }
+
+    /**
+     * keyset 페이징 위치 (마지막으로 받은 행의 created_at, id). 클라이언트에는 불투명한 문자열로 전달
+     */
+    private record Cursor(LocalDateTime createdAt, Long id) {
+
+        String encode() {
+            String raw = createdAt + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String value) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+                int sep = raw.lastIndexOf('|');
+                return new Cursor(LocalDateTime.parse(raw.substring(0, sep)), Long.parseLong(raw.substring(sep + 1)));
+            } catch (Exception e) {
+                throw new IllegalArgumentException("Invalid cursor: " + value);
+            }
+        }
+    }
+
     /**
      * 특정 액션 카테고리에 대한 로깅이 활성화되어있는지 확인
      */
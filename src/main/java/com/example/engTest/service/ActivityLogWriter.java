@@ -0,0 +1,183 @@
+package com.example.engTest.service;
+
+import com.example.engTest.dto.ActivityLog;
+import com.example.engTest.mapper.ActivityLogMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * activity_logs 버퍼 writer
+ * 로그를 고정 크기 버퍼에 쌓고, 전용 스레드가 batch-size건이 모이거나 flush-interval-ms가 지나면
+ * 다중 행 INSERT 한 번으로 기록한다.
+ * 버퍼가 가득 차면(DB 지연) offer-timeout-ms 동안 대기한 뒤 버린다 (0이면 즉시 버림). 종료 시 남은 로그를 모두 기록한다.
+ */
+@Slf4j
+@Component
+public class ActivityLogWriter implements StatsProvider {
+
+    private final ActivityLogMapper activityLogMapper;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final long offerTimeoutMs;
+    private final BlockingQueue<ActivityLog> buffer;
+
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private volatile long lastFlushMs;
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    public ActivityLogWriter(ActivityLogMapper activityLogMapper,
+            @Value("${activity-log.buffer.capacity:10000}") int capacity,
+            @Value("${activity-log.buffer.batch-size:200}") int batchSize,
+            @Value("${activity-log.buffer.flush-interval-ms:1000}") long flushIntervalMs,
+            @Value("${activity-log.buffer.offer-timeout-ms:0}") long offerTimeoutMs) {
+        this.activityLogMapper = activityLogMapper;
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.offerTimeoutMs = offerTimeoutMs;
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        flusher = new Thread(this::runLoop, "activity-log-writer");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * 로그 1건 버퍼에 추가
+     * @return 버퍼에 들어갔으면 true, 가득 차서 버려졌으면 false
+     */
+    public boolean enqueue(ActivityLog entry) {
+        if (entry.getCreatedAt() == null) {
+            // 배치 지연과 무관하게 실제 발생 시각으로 기록
+            entry.setCreatedAt(LocalDateTime.now());
+        }
+        boolean accepted;
+        try {
+            accepted = offerTimeoutMs > 0
+                    ? buffer.offer(entry, offerTimeoutMs, TimeUnit.MILLISECONDS)
+                    : buffer.offer(entry);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            accepted = false;
+        }
+        if (accepted) {
+            enqueued.incrementAndGet();
+        } else {
+            long count = dropped.incrementAndGet();
+            if (count == 1 || count % 1000 == 0) {
+                log.warn("Activity log buffer full, dropped {} logs so far", count);
+            }
+        }
+        return accepted;
+    }
+
+    private void runLoop() {
+        List<ActivityLog> batch = new ArrayList<>(batchSize);
+        while (running || !buffer.isEmpty()) {
+            try {
+                ActivityLog first = buffer.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+
+                // 첫 건 이후 flush-interval 안에 batch-size까지 모음
+                long deadline = System.currentTimeMillis() + flushIntervalMs;
+                while (batch.size() < batchSize && running) {
+                    buffer.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.currentTimeMillis();
+                    if (batch.size() >= batchSize || remaining <= 0) break;
+                    ActivityLog next = buffer.poll(remaining, TimeUnit.MILLISECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+                buffer.drainTo(batch, batchSize - batch.size());
+                flush(batch);
+            } catch (InterruptedException e) {
+                if (!running) break;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<ActivityLog> batch) {
+        if (batch.isEmpty()) return;
+        long start = System.currentTimeMillis();
+        try {
+            activityLogMapper.insertBatch(batch);
+            written.addAndGet(batch.size());
+            batches.incrementAndGet();
+        } catch (Exception e) {
+            failed.addAndGet(batch.size());
+            log.error("Failed to write activity log batch ({} logs)", batch.size(), e);
+        }
+        lastFlushMs = System.currentTimeMillis() - start;
+    }
+
+    @Override
+    public String getStatsName() {
+        return "log-writer";
+    }
+
+    /**
+     * 처리량/유실 통계
+     */
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("buffered", buffer.size());
+        stats.put("capacity", buffer.size() + buffer.remainingCapacity());
+        stats.put("batchSize", batchSize);
+        stats.put("flushIntervalMs", flushIntervalMs);
+        stats.put("enqueued", enqueued.get());
+        stats.put("written", written.get());
+        stats.put("dropped", dropped.get());
+        stats.put("failed", failed.get());
+        stats.put("batches", batches.get());
+        stats.put("lastFlushMs", lastFlushMs);
+        return stats;
+    }
+
+    /**
+     * 종료 시 버퍼에 남은 로그 기록
+     */
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        if (flusher != null) {
+            // 진행 중인 INSERT를 끊지 않도록 interrupt 없이 poll 타임아웃 후 종료를 기다림
+            try {
+                flusher.join(10_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        List<ActivityLog> rest = new ArrayList<>();
+        buffer.drainTo(rest);
+        for (int i = 0; i < rest.size(); i += batchSize) {
+            flush(rest.subList(i, Math.min(rest.size(), i + batchSize)));
+        }
+        log.info("Activity log writer stopped: written={}, dropped={}, failed={}", written.get(), dropped.get(), failed.get());
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.engTest.service;
+
+import com.example.engTest.dto.Question;
+import com.example.engTest.utils.AnswerNormalizer;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 회차별 정답표 (불변)
+ * 회차 문제 목록과 문제별 정규화된 정답/대체 정답(및 해시)을 한 번에 만들어 두고 모든 채점 경로에서 공유한다.
+ * 문제가 추가/수정/삭제되면 QuestionService가 해당 회차의 정답표를 폐기한다.
+ * questions()의 Question 객체는 공유되므로 수정하지 않는다.
+ */
+public final class AnswerKey {
+
+    private final Long roundId;
+    private final List<Question> questions;
+    private final Entry[] byNumber;
+    private final Map<Long, Entry> byQuestionId;
+
+    /**
+     * 문제 1개의 정답 정보
+     * number: 회차 내 문제 번호 (1부터, findByRoundId 정렬 순서)
+     */
+    public record Entry(Long questionId, Integer seqNo, int number, String answer, String altAnswers,
+            String[] accepted, int[] acceptedHashes) {
+
+        /**
+         * 정규화된 사용자 답안이 정답/대체 정답과 일치하는지 (해시로 먼저 걸러냄)
+         */
+        public boolean matchesNormalized(String normalizedUser) {
+            int hash = normalizedUser.hashCode();
+            for (int i = 0; i < acceptedHashes.length; i++) {
+                if (acceptedHashes[i] == hash && accepted[i].equals(normalizedUser)) return true;
+            }
+            return false;
+        }
+
+        public boolean matches(String userAnswer) {
+            return matchesNormalized(AnswerNormalizer.normalize(userAnswer));
+        }
+    }
+
+    public AnswerKey(Long roundId, List<Question> questions) {
+        this.roundId = roundId;
+        this.questions = List.copyOf(questions);
+        this.byNumber = new Entry[this.questions.size()];
+        Map<Long, Entry> index = new HashMap<>();
+        for (int i = 0; i < this.questions.size(); i++) {
+            Question q = this.questions.get(i);
+            String[] accepted = AnswerNormalizer.normalizeAccepted(q.getAnswer(), q.getAltAnswers());
+            int[] hashes = new int[accepted.length];
+            for (int j = 0; j < accepted.length; j++) {
+                hashes[j] = accepted[j].hashCode();
+            }
+            Entry entry = new Entry(q.getId(), q.getSeqNo(), i + 1, q.getAnswer(), q.getAltAnswers(), accepted, hashes);
+            byNumber[i] = entry;
+            index.put(q.getId(), entry);
+        }
+        this.byQuestionId = Map.copyOf(index);
+    }
+
+    public Long getRoundId() {
+        return roundId;
+    }
+
+    public List<Question> questions() {
+        return questions;
+    }
+
+    public int size() {
+        return byNumber.length;
+    }
+
+    /**
+     * 문제 번호(1부터)로 조회, 범위 밖이면 null
+     */
+    public Entry byNumber(int number) {
+        return number > 0 && number <= byNumber.length ? byNumber[number - 1] : null;
+    }
+
+    public Entry byQuestionId(Long questionId) {
+        return questionId != null ? byQuestionId.get(questionId) : null;
+    }
+}
@@ -0,0 +1,385 @@
+package com.example.engTest.service;
+
+import com.example.engTest.utils.ImageCodec;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.imageio.ImageIO;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 답안지 사진 전처리 (OCR 전)
+ * 축소(긴 변 target-long-edge) → 흑백 변환 → 기울기 보정(±max-skew-degrees) → 글씨 영역으로 자르기 → JPEG 재압축(jpeg-quality)
+ * 전용 스레드 풀(pool-size, 대기 queue-capacity)에서 실행하며, 대기열이 가득 차면 503으로 거부한다.
+ * ImageIO가 읽지 못하는 형식이거나 비활성화된 경우 ImagePayloadEncoder로 원본(또는 단순 축소본)을 보낸다.
+ */
+@Slf4j
+@Component
+public class AnswerSheetPreprocessor implements StatsProvider {
+
+    private static final String JPEG = "image/jpeg";
+
+    // 기울기 추정용 샘플 크기 / 각도 간격
+    private static final int SKEW_SAMPLE_EDGE = 500;
+    private static final double SKEW_STEP_DEGREES = 0.25;
+    private static final int SKEW_MAX_POINTS = 50_000;
+
+    private final ImagePayloadEncoder imagePayloadEncoder;
+    private final boolean enabled;
+    private final int targetLongEdge;
+    private final boolean grayscale;
+    private final boolean crop;
+    private final double maxSkewDegrees;
+    private final float jpegQuality;
+    private final ThreadPoolExecutor executor;
+
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong fallbacks = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong bytesBefore = new AtomicLong();
+    private final AtomicLong bytesAfter = new AtomicLong();
+    private final AtomicLong elapsedMsTotal = new AtomicLong();
+
+    /**
+     * 전처리 결과 (base64는 Gemini 요청에만 사용)
+     */
+    public record Result(String mimeType, String base64, Report report) {
+    }
+
+    /**
+     * 전처리 전/후 크기 보고
+     */
+    public record Report(boolean preprocessed, long originalBytes, long processedBytes,
+            int originalWidth, int originalHeight, int width, int height,
+            double skewDegrees, boolean cropped, long elapsedMs) {
+    }
+
+    public AnswerSheetPreprocessor(ImagePayloadEncoder imagePayloadEncoder,
+            @Value("${answer-sheet.preprocess.enabled:true}") boolean enabled,
+            @Value("${answer-sheet.preprocess.target-long-edge:1600}") int targetLongEdge,
+            @Value("${answer-sheet.preprocess.grayscale:true}") boolean grayscale,
+            @Value("${answer-sheet.preprocess.crop:true}") boolean crop,
+            @Value("${answer-sheet.preprocess.max-skew-degrees:5}") double maxSkewDegrees,
+            @Value("${answer-sheet.preprocess.jpeg-quality:0.8}") float jpegQuality,
+            @Value("${answer-sheet.preprocess.pool-size:2}") int poolSize,
+            @Value("${answer-sheet.preprocess.queue-capacity:16}") int queueCapacity) {
+        this.imagePayloadEncoder = imagePayloadEncoder;
+        this.enabled = enabled;
+        this.targetLongEdge = targetLongEdge;
+        this.grayscale = grayscale;
+        this.crop = crop;
+        this.maxSkewDegrees = maxSkewDegrees;
+        this.jpegQuality = jpegQuality;
+        AtomicInteger threadSeq = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread t = new Thread(r, "answer-sheet-" + threadSeq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * 전처리 예약 (대기열이 가득 차면 503 ResponseStatusException으로 실패한 future)
+     */
+    public CompletableFuture<Result> submit(MultipartFile file) {
+        return schedule(() -> preprocess(file, file.getSize(), () -> imagePayloadEncoder.encode(file)));
+    }
+
+    /**
+     * 디스크에 저장해 둔 답안지 전처리 예약 (요청이 끝난 뒤 처리하는 일괄 작업용)
+     */
+    public CompletableFuture<Result> submit(Path file, String contentType) {
+        return schedule(() -> preprocess(new FileSystemResource(file), Files.size(file),
+                () -> imagePayloadEncoder.encode(file, contentType)));
+    }
+
+    private CompletableFuture<Result> schedule(Task task) {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return task.run();
+                } catch (IOException e) {
+                    throw new CompletionException(e);
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            log.warn("Answer sheet preprocessing rejected (queue full: {})", executor.getQueue().size());
+            return CompletableFuture.failedFuture(new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "이미지 처리 요청이 많아 잠시 후 다시 시도해주세요."));
+        }
+    }
+
+    @FunctionalInterface
+    private interface Task {
+        Result run() throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface Fallback {
+        ImagePayloadEncoder.EncodedImage encode() throws IOException;
+    }
+
+    /**
+     * 전처리 후 결과 대기 (동기 호출 경로용)
+     */
+    public Result process(MultipartFile file) throws IOException {
+        try {
+            return submit(file).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("이미지 전처리가 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() instanceof CompletionException ce ? ce.getCause() : e.getCause();
+            if (cause instanceof IOException io) throw io;
+            if (cause instanceof RuntimeException re) throw re;
+            throw new IOException(cause);
+        }
+    }
+
+    @Override
+    public String getStatsName() {
+        return "answer-sheet-preprocess";
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        long count = processed.get();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("active", executor.getActiveCount());
+        stats.put("queued", executor.getQueue().size());
+        stats.put("processed", count);
+        stats.put("fallbacks", fallbacks.get());
+        stats.put("rejected", rejected.get());
+        stats.put("bytesBefore", bytesBefore.get());
+        stats.put("bytesAfter", bytesAfter.get());
+        stats.put("bytesSaved", bytesBefore.get() - bytesAfter.get());
+        stats.put("avgElapsedMs", count > 0 ? elapsedMsTotal.get() / count : 0);
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    // ========== Pipeline ==========
+
+    private Result preprocess(InputStreamSource source, long originalBytes, Fallback fallback) throws IOException {
+        long start = System.nanoTime();
+
+        ImageCodec.Decoded decoded = null;
+        if (enabled) {
+            try (InputStream in = source.getInputStream();
+                    ImageInputStream iis = ImageIO.createImageInputStream(in)) {
+                // 목표 크기 이상을 유지하는 최대 간격으로 서브샘플링 (내림), 나머지는 보간 축소
+                decoded = ImageCodec.decode(iis, longEdge -> longEdge / targetLongEdge);
+            } catch (IOException | RuntimeException e) {
+                log.warn("Answer sheet decode failed, sending original: {}", e.getMessage());
+            }
+        }
+        if (decoded == null) {
+            ImagePayloadEncoder.EncodedImage encoded = fallback.encode();
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+            fallbacks.incrementAndGet();
+            return new Result(encoded.mimeType(), encoded.base64(), new Report(false, originalBytes,
+                    ImageCodec.decodedLength(encoded.base64()), 0, 0, 0, 0, 0.0, false, elapsedMs));
+        }
+
+        int outputType = grayscale ? BufferedImage.TYPE_BYTE_GRAY : BufferedImage.TYPE_INT_RGB;
+        BufferedImage image = ImageCodec.scaleDown(decoded.image(), targetLongEdge, outputType);
+
+        // 분석은 항상 흑백 이미지로
+        BufferedImage gray = grayscale ? image
+                : ImageCodec.redraw(image, image.getWidth(), image.getHeight(), BufferedImage.TYPE_BYTE_GRAY);
+
+        double skew = maxSkewDegrees > 0 ? estimateSkew(gray) : 0.0;
+        if (skew != 0.0) {
+            image = rotate(image, -Math.toRadians(skew), outputType);
+            gray = grayscale ? image
+                    : ImageCodec.redraw(image, image.getWidth(), image.getHeight(), BufferedImage.TYPE_BYTE_GRAY);
+        }
+
+        boolean cropped = false;
+        if (crop) {
+            int[] box = contentBounds(gray);
+            if (box != null) {
+                image = copyRegion(image, box, outputType);
+                cropped = true;
+            }
+        }
+
+        String base64 = ImageCodec.toJpegBase64(image, jpegQuality);
+        long processedBytes = ImageCodec.decodedLength(base64);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        processed.incrementAndGet();
+        bytesBefore.addAndGet(originalBytes);
+        bytesAfter.addAndGet(processedBytes);
+        elapsedMsTotal.addAndGet(elapsedMs);
+
+        Report report = new Report(true, originalBytes, processedBytes,
+                decoded.sourceWidth(), decoded.sourceHeight(), image.getWidth(), image.getHeight(),
+                skew, cropped, elapsedMs);
+        log.info("Answer sheet preprocessed: {}x{} {}B -> {}x{} {}B (skew {}°, cropped={}, {}ms)",
+                report.originalWidth(), report.originalHeight(), originalBytes,
+                report.width(), report.height(), processedBytes, skew, cropped, elapsedMs);
+        return new Result(JPEG, base64, report);
+    }
+
+    /**
+     * 기울기 추정 (projection profile)
+     * 어두운 픽셀을 각 후보 각도로 투영한 행 히스토그램의 제곱합이 최대인 각도 = 글씨 줄이 수평이 되는 각도
+     * @return 도 단위, 보정이 필요 없으면 0
+     */
+    private double estimateSkew(BufferedImage gray) {
+        int w = gray.getWidth();
+        int h = gray.getHeight();
+        byte[] px = ((DataBufferByte) gray.getRaster().getDataBuffer()).getData();
+        int step = Math.max(1, Math.max(w, h) / SKEW_SAMPLE_EDGE);
+
+        long sum = 0;
+        int samples = 0;
+        for (int y = 0; y < h; y += step) {
+            for (int x = 0; x < w; x += step) {
+                sum += px[y * w + x] & 0xFF;
+                samples++;
+            }
+        }
+        int threshold = (int) (sum / Math.max(1, samples) * 0.7);
+
+        int[] xs = new int[SKEW_MAX_POINTS];
+        int[] ys = new int[SKEW_MAX_POINTS];
+        int n = 0;
+        for (int y = 0; y < h && n < SKEW_MAX_POINTS; y += step) {
+            for (int x = 0; x < w && n < SKEW_MAX_POINTS; x += step) {
+                if ((px[y * w + x] & 0xFF) < threshold) {
+                    xs[n] = x / step;
+                    ys[n] = y / step;
+                    n++;
+                }
+            }
+        }
+        if (n < 100) return 0.0;
+
+        int sw = w / step + 1;
+        int sh = h / step + 1;
+        int offset = sw; // 회전으로 음수가 되는 행 보정
+        int[] bins = new int[sh + 2 * offset + 1];
+        double bestAngle = 0.0;
+        long bestScore = -1;
+        for (double angle = -maxSkewDegrees; angle <= maxSkewDegrees + 1e-9; angle += SKEW_STEP_DEGREES) {
+            double rad = Math.toRadians(angle);
+            double sin = Math.sin(rad);
+            double cos = Math.cos(rad);
+            Arrays.fill(bins, 0);
+            for (int i = 0; i < n; i++) {
+                int row = (int) Math.round(ys[i] * cos - xs[i] * sin) + offset;
+                if (row >= 0 && row < bins.length) bins[row]++;
+            }
+            long score = 0;
+            for (int b : bins) score += (long) b * b;
+            if (score > bestScore) {
+                bestScore = score;
+                bestAngle = angle;
+            }
+        }
+        return Math.abs(bestAngle) < SKEW_STEP_DEGREES ? 0.0 : bestAngle;
+    }
+
+    private BufferedImage rotate(BufferedImage image, double radians, int imageType) {
+        BufferedImage out = new BufferedImage(image.getWidth(), image.getHeight(), imageType);
+        Graphics2D g = out.createGraphics();
+        try {
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, out.getWidth(), out.getHeight());
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.rotate(radians, image.getWidth() / 2.0, image.getHeight() / 2.0);
+            g.drawImage(image, 0, 0, null);
+        } finally {
+            g.dispose();
+        }
+        return out;
+    }
+
+    /**
+     * 글씨가 있는 영역 (여백 2% 포함) {x, y, width, height}
+     * 잘라낼 부분이 거의 없거나(90% 이상) 영역이 너무 작으면(10% 미만) null
+     */
+    private int[] contentBounds(BufferedImage gray) {
+        int w = gray.getWidth();
+        int h = gray.getHeight();
+        byte[] px = ((DataBufferByte) gray.getRaster().getDataBuffer()).getData();
+
+        long sum = 0;
+        for (byte b : px) sum += b & 0xFF;
+        int threshold = (int) (sum / Math.max(1, px.length) * 0.7);
+
+        int[] rowDark = new int[h];
+        int[] colDark = new int[w];
+        for (int y = 0; y < h; y++) {
+            int base = y * w;
+            for (int x = 0; x < w; x++) {
+                if ((px[base + x] & 0xFF) < threshold) {
+                    rowDark[y]++;
+                    colDark[x]++;
+                }
+            }
+        }
+
+        // 잡티 무시: 행/열 길이의 0.2% 이상 어두운 경우만 내용으로 봄
+        int rowMin = Math.max(1, w / 500);
+        int colMin = Math.max(1, h / 500);
+        int top = 0, bottom = h - 1, left = 0, right = w - 1;
+        while (top < h && rowDark[top] < rowMin) top++;
+        while (bottom > top && rowDark[bottom] < rowMin) bottom--;
+        while (left < w && colDark[left] < colMin) left++;
+        while (right > left && colDark[right] < colMin) right--;
+        if (top >= bottom || left >= right) return null;
+
+        int marginX = w / 50;
+        int marginY = h / 50;
+        left = Math.max(0, left - marginX);
+        right = Math.min(w - 1, right + marginX);
+        top = Math.max(0, top - marginY);
+        bottom = Math.min(h - 1, bottom + marginY);
+
+        double ratio = (double) (right - left + 1) * (bottom - top + 1) / ((double) w * h);
+        if (ratio >= 0.9 || ratio < 0.1) return null;
+        return new int[]{left, top, right - left + 1, bottom - top + 1};
+    }
+
+    private BufferedImage copyRegion(BufferedImage image, int[] box, int imageType) {
+        return ImageCodec.redraw(image.getSubimage(box[0], box[1], box[2], box[3]), box[2], box[3], imageType);
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.engTest.service;
+
+import com.example.engTest.dto.RoundStats;
+import com.example.engTest.dto.UserStats;
+import com.example.engTest.mapper.RoundMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.DigestUtils;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 대시보드 응답 스냅샷 (직렬화된 JSON 바이트 + ETag)
+ * - 조회는 메모리의 스냅샷을 그대로 반환 (DB 조회 없음)
+ * - 시험 제출/재채점/삭제, 회차 변경, 업적 달성, 로그인 후 백그라운드에서 다시 만든다.
+ *   재생성 중 들어온 변경은 한 번의 재생성으로 합쳐지고, 그동안은 직전 스냅샷을 반환한다.
+ * - ETag는 응답 내용의 해시이므로, 다시 만들어도 내용이 같으면 클라이언트는 계속 304를 받는다.
+ */
+@Slf4j
+@Service
+public class DashboardSnapshotService implements StatsProvider {
+
+    private final UserService userService;
+    private final RoundMapper roundMapper;
+    private final ObjectMapper objectMapper;
+    private final ThreadPoolExecutor executor;
+
+    private volatile Snapshot current;
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    private final AtomicLong builds = new AtomicLong();
+    private final AtomicLong buildFailures = new AtomicLong();
+    private volatile long lastBuildMs;
+
+    /**
+     * 대시보드 JSON과 ETag
+     */
+    public record Snapshot(byte[] body, String etag, LocalDateTime builtAt) {
+    }
+
+    public DashboardSnapshotService(UserService userService, RoundMapper roundMapper, ObjectMapper objectMapper) {
+        this.userService = userService;
+        this.roundMapper = roundMapper;
+        this.objectMapper = objectMapper;
+        // 재생성은 한 번에 하나만 (scheduled 플래그로 대기 작업도 최대 1개)
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(1), r -> {
+                    Thread t = new Thread(r, "dashboard-snapshot");
+                    t.setDaemon(true);
+                    return t;
+                }, new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    /**
+     * 현재 스냅샷 (아직 없으면 이 스레드에서 한 번 만든다)
+     */
+    public Snapshot get() {
+        Snapshot snapshot = current;
+        if (snapshot != null) {
+            return snapshot;
+        }
+        synchronized (this) {
+            if (current == null) {
+                current = build();
+            }
+            return current;
+        }
+    }
+
+    /**
+     * 대시보드 데이터 변경 알림 (트랜잭션 중이면 커밋 후 재생성)
+     */
+    public void invalidate() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    rebuildAsync();
+                }
+            });
+        } else {
+            rebuildAsync();
+        }
+    }
+
+    /**
+     * 백그라운드 재생성 예약 (이미 커밋된 변경, afterCommit 콜백 안에서 호출할 때)
+     */
+    public void rebuildAsync() {
+        dirty.set(true);
+        if (scheduled.compareAndSet(false, true)) {
+            executor.execute(this::runRebuild);
+        }
+    }
+
+    @Override
+    public String getStatsName() {
+        return "dashboard-snapshot";
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        Snapshot snapshot = current;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("etag", snapshot != null ? snapshot.etag() : null);
+        stats.put("builtAt", snapshot != null ? snapshot.builtAt() : null);
+        stats.put("bytes", snapshot != null ? snapshot.body().length : 0);
+        stats.put("builds", builds.get());
+        stats.put("buildFailures", buildFailures.get());
+        stats.put("lastBuildMs", lastBuildMs);
+        stats.put("pending", dirty.get());
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    // ========== Internal ==========
+
+    private void runRebuild() {
+        try {
+            while (dirty.getAndSet(false)) {
+                try {
+                    Snapshot snapshot = build();
+                    synchronized (this) {
+                        current = snapshot;
+                    }
+                } catch (Exception e) {
+                    // 실패하면 직전 스냅샷을 계속 사용 (다음 변경 때 다시 시도)
+                    buildFailures.incrementAndGet();
+                    log.warn("Failed to rebuild dashboard snapshot: {}", e.getMessage());
+                }
+            }
+        } finally {
+            scheduled.set(false);
+            // 루프 종료와 플래그 해제 사이에 들어온 변경
+            if (dirty.get() && scheduled.compareAndSet(false, true)) {
+                executor.execute(this::runRebuild);
+            }
+        }
+    }
+
+    private Snapshot build() {
+        long start = System.currentTimeMillis();
+        Map<String, Object> dashboard = new LinkedHashMap<>();
+
+        List<UserStats> userStats = userService.getUserStats();
+        List<RoundStats> roundStats = roundMapper.getRoundStats();
+
+        dashboard.put("userStats", userStats);
+        dashboard.put("roundStats", roundStats);
+        dashboard.put("totalUsers", userStats.size());
+        dashboard.put("totalRounds", roundStats.size());
+
+        // 전체 평균 점수 계산
+        double totalAvg = roundStats.stream()
+                .filter(s -> s.getAvgScore() != null)
+                .mapToDouble(s -> s.getAvgScore().doubleValue())
+                .average()
+                .orElse(0.0);
+        dashboard.put("overallAvgScore", Math.round(totalAvg * 100) / 100.0);
+
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(dashboard);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("대시보드 직렬화 실패: " + e.getMessage(), e);
+        }
+        String etag = "\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+
+        lastBuildMs = System.currentTimeMillis() - start;
+        builds.incrementAndGet();
+        log.debug("Dashboard snapshot built in {}ms ({} bytes, etag {})", lastBuildMs, body.length, etag);
+        return new Snapshot(body, etag, LocalDateTime.now());
+    }
+}
@@ -6,16 +6,30 @@ import com.example.engTest.dto.Question;
 import com.example.engTest.dto.Round;
 import com.example.engTest.mapper.ExamAnswerMapper;
 import com.example.engTest.mapper.ExamMapper;
-import com.example.engTest.mapper.QuestionMapper;
 import com.example.engTest.mapper.RoundMapper;
+import com.example.engTest.utils.StripedLocks;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Service
 @RequiredArgsConstructor
@@ -23,95 +37,21 @@ public class ExamService {
 
     private final ExamMapper examMapper;
     private final ExamAnswerMapper examAnswerMapper;
-    private final QuestionMapper questionMapper;
     private final RoundMapper roundMapper;
+    private final QuestionService questionService;
     private final AchievementService achievementService;
+    private final AchievementStatsService achievementStatsService;
+    private final StatsSummaryService statsSummaryService;
+    private final RoundLeaderboardService roundLeaderboardService;
+    private final LiveEventHub liveEventHub;
+    private final GeminiService geminiService;
+    private final TransactionTemplate transactionTemplate;
 
-    /**
-     * 영어 축약형 → 풀어쓴 형태 매핑 테이블
-     */
-    private static final java.util.Map<String, String> CONTRACTIONS = java.util.Map.ofEntries(
-            // be 동사
-            java.util.Map.entry("i'm", "i am"),
-            java.util.Map.entry("you're", "you are"),
-            java.util.Map.entry("he's", "he is"),
-            java.util.Map.entry("she's", "she is"),
-            java.util.Map.entry("it's", "it is"),
-            java.util.Map.entry("we're", "we are"),
-            java.util.Map.entry("they're", "they are"),
-            java.util.Map.entry("that's", "that is"),
-            java.util.Map.entry("there's", "there is"),
-            java.util.Map.entry("here's", "here is"),
-            java.util.Map.entry("what's", "what is"),
-            java.util.Map.entry("who's", "who is"),
-            java.util.Map.entry("how's", "how is"),
-            java.util.Map.entry("where's", "where is"),
-
-            // not 축약
-            java.util.Map.entry("isn't", "is not"),
-            java.util.Map.entry("aren't", "are not"),
-            java.util.Map.entry("wasn't", "was not"),
-            java.util.Map.entry("weren't", "were not"),
-            java.util.Map.entry("don't", "do not"),
-            java.util.Map.entry("doesn't", "does not"),
-            java.util.Map.entry("didn't", "did not"),
-            java.util.Map.entry("can't", "cannot"),
-            java.util.Map.entry("couldn't", "could not"),
-            java.util.Map.entry("won't", "will not"),
-            java.util.Map.entry("wouldn't", "would not"),
-            java.util.Map.entry("shouldn't", "should not"),
-            java.util.Map.entry("mustn't", "must not"),
-            java.util.Map.entry("haven't", "have not"),
-            java.util.Map.entry("hasn't", "has not"),
-            java.util.Map.entry("hadn't", "had not"),
-
-            // will 축약
-            java.util.Map.entry("i'll", "i will"),
-            java.util.Map.entry("you'll", "you will"),
-            java.util.Map.entry("he'll", "he will"),
-            java.util.Map.entry("she'll", "she will"),
-            java.util.Map.entry("it'll", "it will"),
-            java.util.Map.entry("we'll", "we will"),
-            java.util.Map.entry("they'll", "they will"),
-            java.util.Map.entry("that'll", "that will"),
-
-            // would 축약
-            java.util.Map.entry("i'd", "i would"),
-            java.util.Map.entry("you'd", "you would"),
-            java.util.Map.entry("he'd", "he would"),
-            java.util.Map.entry("she'd", "she would"),
-            java.util.Map.entry("it'd", "it would"),
-            java.util.Map.entry("we'd", "we would"),
-            java.util.Map.entry("they'd", "they would"),
-
-            // have 축약
-            java.util.Map.entry("i've", "i have"),
-            java.util.Map.entry("you've", "you have"),
-            java.util.Map.entry("we've", "we have"),
-            java.util.Map.entry("they've", "they have"),
-            java.util.Map.entry("could've", "could have"),
-            java.util.Map.entry("would've", "would have"),
-            java.util.Map.entry("should've", "should have"),
-            java.util.Map.entry("might've", "might have"),
-            java.util.Map.entry("must've", "must have"),
-
-            // 기타
-            java.util.Map.entry("let's", "let us"),
-            java.util.Map.entry("y'all", "you all"));
+    // 시험 시작 중복 방지용 (userId, roundId) striped lock
+    private final StripedLocks startLocks = new StripedLocks(64);
 
-    /**
-     * 축약형을 풀어쓴 형태로 확장
-     */
-    private String expandContractions(String text) {
-        if (text == null) {
-            return "";
-        }
-        String result = text.toLowerCase().trim();
-        for (java.util.Map.Entry<String, String> entry : CONTRACTIONS.entrySet()) {
-            result = result.replace(entry.getKey(), entry.getValue());
-        }
-        return result;
-    }
+    // 일괄 제출 시 동시에 진행할 AI 채점 수
+    private static final int GRADE_CONCURRENCY = 4;
 
     public List<Exam> getAllExams() {
         return examMapper.findAll();
@@ -129,8 +69,21 @@ public class ExamService {
         return examMapper.findById(id);
     }
 
-    @Transactional
-    public synchronized Exam startExam(Long userId, Long roundId, String mode) {
+    /**
+     * 시험 시작 (같은 사용자/회차의 동시 요청만 직렬화, 다른 사용자는 병렬로 진행)
+     * 락은 트랜잭션 커밋까지 잡고 있어야 중복 생성이 막히므로, 트랜잭션을 락 안에서 직접 연다.
+     */
+    public Exam startExam(Long userId, Long roundId, String mode) {
+        ReentrantLock lock = startLocks.lockFor(userId, roundId);
+        lock.lock();
+        try {
+            return transactionTemplate.execute(status -> doStartExam(userId, roundId, mode));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Exam doStartExam(Long userId, Long roundId, String mode) {
         // [NEW] 이미 제출(COMPLETED)된 시험이 있는지 확인
         Exam existingExam = examMapper.findByUserAndRound(userId, roundId);
         if (existingExam != null && "COMPLETED".equals(existingExam.getStatus())) {
@@ -146,8 +99,9 @@ public class ExamService {
         }
 
         // --- Create NEW Exam ---
-        // 해당 회차의 문제 수 조회
-        int questionCount = questionMapper.countByRoundId(roundId);
+        // 해당 회차의 문제 수 조회 (정답표 캐시 사용)
+        AnswerKey answerKey = questionService.getAnswerKey(roundId);
+        int questionCount = answerKey.size();
 
         // [NEW] Validation: Prevent starting exam if no questions exist
         if (questionCount == 0) {
@@ -166,31 +120,89 @@ public class ExamService {
                 .status("IN_PROGRESS")
                 .build();
 
+        // 답안 행은 미리 만들지 않음 (답한 문제만 submitAnswer에서 upsert, 미응답은 오답 처리)
         examMapper.insert(exam);
-
-        // 빈 답안 레코드 생성
-        List<Question> questions = questionMapper.findByRoundId(roundId);
-        List<ExamAnswer> answers = new ArrayList<>();
-        for (Question q : questions) {
-            answers.add(ExamAnswer.builder()
-                    .examId(exam.getId())
-                    .questionId(q.getId())
-                    .isCorrect(false)
-                    .build());
-        }
-        if (!answers.isEmpty()) {
-            examAnswerMapper.insertBatch(answers);
-        }
+        publishParticipant(exam, exam.getStatus());
 
         return exam;
     }
 
+    /**
+     * 답안 저장 (exam_id, question_id 기준 upsert, 조회 없이 한 번에 기록)
+     */
     @Transactional
     public void submitAnswer(Long examId, Long questionId, String userAnswer, String ocrRawText, boolean isCorrect) {
-        ExamAnswer answer = examAnswerMapper.findByExamAndQuestion(examId, questionId);
-        if (answer != null) {
-            examAnswerMapper.updateAnswer(answer.getId(), userAnswer, isCorrect, ocrRawText);
+        examAnswerMapper.upsertAnswer(examId, questionId, userAnswer, isCorrect, ocrRawText);
+    }
+
+    /**
+     * 답안을 받을 수 있는 시험인지 확인 (존재, 본인 시험, 진행 중)
+     */
+    public Exam requireAnswerableExam(Long examId, Long userId) {
+        Exam exam = examMapper.findById(examId);
+        if (exam == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "시험을 찾을 수 없습니다.");
+        }
+        if (userId == null || !userId.equals(exam.getUserId())) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "본인 시험에만 답안을 제출할 수 있습니다.");
         }
+        if (!"IN_PROGRESS".equals(exam.getStatus())) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "이미 제출된 시험입니다.");
+        }
+        return exam;
+    }
+
+    /**
+     * 답안 일괄 저장 (온라인 시험)
+     * 단건 제출과 같은 방식으로 채점하고(정규화 일치 시 정답, 아니면 AI 판정) 한 번의 upsert로 저장한다.
+     * AI 채점은 트랜잭션 밖에서 하고, 저장 직전에 시험이 아직 진행 중인지 다시 확인한다. 회차에 없는 문제는 저장하지 않는다.
+     */
+    public List<AnswerResult> submitAnswers(Long examId, Long userId, List<AnswerInput> inputs) {
+        Exam exam = requireAnswerableExam(examId, userId);
+        AnswerKey answerKey = questionService.getAnswerKey(exam.getRoundId());
+
+        List<AnswerKey.Entry> entries = new ArrayList<>(inputs.size());
+        for (AnswerInput input : inputs) {
+            entries.add(answerKey.byQuestionId(input.questionId()));
+        }
+        List<GeminiService.GradeResult> grades = Flux.range(0, inputs.size())
+                .flatMapSequential(i -> entries.get(i) == null
+                        ? Mono.just(new GeminiService.GradeResult(inputs.get(i).answer(), false, null, null))
+                        : Mono.fromCallable(() -> geminiService.gradeTextAnswer(entries.get(i), inputs.get(i).answer()))
+                                .subscribeOn(Schedulers.boundedElastic()),
+                        GRADE_CONCURRENCY)
+                .collectList()
+                .block();
+
+        List<AnswerResult> results = new ArrayList<>(inputs.size());
+        List<ExamAnswer> rows = new ArrayList<>(inputs.size());
+        for (int i = 0; i < inputs.size(); i++) {
+            AnswerInput input = inputs.get(i);
+            AnswerKey.Entry entry = entries.get(i);
+            if (entry == null) {
+                results.add(new AnswerResult(input.questionId(), input.answer(), null, false, null, false));
+                continue;
+            }
+            GeminiService.GradeResult grade = grades.get(i);
+            rows.add(ExamAnswer.builder()
+                    .examId(examId)
+                    .questionId(entry.questionId())
+                    .userAnswer(input.answer())
+                    .isCorrect(grade.isCorrect())
+                    .build());
+            results.add(new AnswerResult(entry.questionId(), input.answer(), entry.answer(),
+                    grade.isCorrect(), grade.feedback(), true));
+        }
+        if (!rows.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> {
+                Exam current = examMapper.findById(examId);
+                if (current == null || !"IN_PROGRESS".equals(current.getStatus())) {
+                    throw new ResponseStatusException(HttpStatus.CONFLICT, "이미 제출된 시험입니다.");
+                }
+                examAnswerMapper.upsertAnswers(rows);
+            });
+        }
+        return results;
     }
 
     @Transactional
@@ -200,7 +212,7 @@ public class ExamService {
             throw new IllegalArgumentException("Exam not found: " + examId);
         }
 
-        // 정답 수 계산
+        // 정답 수 계산 (답안 행이 없는 미응답 문제는 오답)
         int correctCount = examAnswerMapper.countCorrectByExamId(examId);
 
         // 점수 계산 (정답 수 = 점수, 즉 문항 수 기준 만점)
@@ -215,7 +227,8 @@ public class ExamService {
         exam.setScore(score);
         exam.setIsPassed(isPassed);
         exam.setStatus("COMPLETED");
-        exam.setSubmittedAt(LocalDateTime.now());
+        // exams.submitted_at(TIMESTAMP)과 같은 초 단위로 저장/응답
+        exam.setSubmittedAt(LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS));
 
         examMapper.update(exam);
 
@@ -223,10 +236,18 @@ public class ExamService {
         int completedCount = examMapper.countCompletedByRoundId(exam.getRoundId());
         if (completedCount >= 4) {
             roundMapper.updateStatus(exam.getRoundId(), "COMPLETED");
+            Long roundId = exam.getRoundId();
+            afterCommit(() -> liveEventHub.publishToRound(roundId, "round", Map.of("roundId", roundId, "status", "COMPLETED")));
         }
 
-        // 업적 체크 (비동기)
-        achievementService.checkAchievements(exam.getUserId(), "EXAM_COMPLETE");
+        // 사용자/회차 통계 요약, 회차 순위표 갱신 (커밋 후)
+        statsSummaryService.refresh(exam.getUserId(), exam.getRoundId());
+        roundLeaderboardService.onExamChanged(exam);
+        publishParticipant(exam, exam.getStatus());
+
+        // 업적 스냅샷 반영 및 체크 (커밋 후, 비동기)
+        achievementStatsService.onExamCompleted(exam);
+        afterCommit(() -> achievementService.checkAchievements(exam.getUserId(), "EXAM_COMPLETE"));
 
         return exam;
     }
@@ -239,8 +260,15 @@ public class ExamService {
         return examAnswerMapper.findWrongAnswersByExamId(examId);
     }
 
-    public List<Exam> getRankingByRound(Long roundId) {
-        return examMapper.getRankingByRound(roundId);
+    /**
+     * 회차 순위 (메모리 순위표, limit이 null이면 전체)
+     */
+    public List<Exam> getRankingByRound(Long roundId, Integer limit) {
+        return roundLeaderboardService.getTop(roundId, limit);
+    }
+
+    public RoundLeaderboardService.UserRank getUserRank(Long roundId, Long userId) {
+        return roundLeaderboardService.getUserRank(roundId, userId);
     }
 
     /**
@@ -261,8 +289,12 @@ public class ExamService {
         exam.setScore(BigDecimal.valueOf(correctCount));
         exam.setIsPassed(correctCount >= passScore);
         examMapper.update(exam);
+        statsSummaryService.refresh(exam.getUserId(), exam.getRoundId());
+        roundLeaderboardService.onExamChanged(exam);
+        publishParticipant(exam, exam.getStatus());
 
         // 업적 재체크
+        achievementStatsService.invalidate(exam.getUserId());
         achievementService.checkAchievements(exam.getUserId(), "EXAM_COMPLETE");
 
         return exam;
@@ -270,18 +302,60 @@ public class ExamService {
 
     @Transactional
     public void deleteExam(Long id) {
+        Exam exam = examMapper.findById(id);
         examAnswerMapper.deleteByExamId(id);
         examMapper.delete(id);
+        achievementStatsService.invalidateAll();
+        if (exam != null) {
+            statsSummaryService.refresh(exam.getUserId(), exam.getRoundId());
+            roundLeaderboardService.onExamDeleted(exam.getRoundId(), id);
+            publishParticipant(exam, "DELETED");
+        }
     }
 
     @Transactional
     public void deleteByRoundId(Long roundId) {
         // 해당 회차의 모든 Exam들을 찾아서 삭제
         List<Exam> exams = examMapper.findByRoundId(roundId);
+        Set<Long> userIds = new HashSet<>();
         for (Exam exam : exams) {
             examAnswerMapper.deleteByExamId(exam.getId());
+            userIds.add(exam.getUserId());
         }
         examMapper.deleteByRoundId(roundId);
+        achievementStatsService.invalidateAll();
+        statsSummaryService.refresh(userIds, roundId);
+        roundLeaderboardService.reloadRound(roundId);
+    }
+
+    /**
+     * 회차 구독자에게 참여자 상태 변경 전송 (커밋 후)
+     */
+    private void publishParticipant(Exam exam, String status) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("examId", exam.getId());
+        payload.put("userId", exam.getUserId());
+        payload.put("userName", exam.getUserName());
+        payload.put("status", status);
+        payload.put("score", exam.getScore());
+        payload.put("correctCount", exam.getCorrectCount());
+        payload.put("isPassed", exam.getIsPassed());
+        payload.put("submittedAt", exam.getSubmittedAt());
+        Long roundId = exam.getRoundId();
+        afterCommit(() -> liveEventHub.publishToRound(roundId, "participant", payload));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
     }
 
     /**
@@ -303,45 +377,38 @@ public class ExamService {
     }
 
     /**
-     * 답안 정규화: 축약형 확장 후 소문자 변환 + 영숫자만 유지
+     * 사용자 확인된 답안 배열로 채점 (OCR 후 확인/수정된 답안)
      */
-    private String normalizeAnswer(String answer) {
-        if (answer == null) {
-            return "";
+    @Transactional
+    public Exam gradeOfflineAnswers(Long examId, List<OfflineAnswerInput> answers, AnswerKey answerKey) {
+        for (OfflineAnswerInput answer : answers) {
+            AnswerKey.Entry entry = answerKey.byNumber(answer.questionNumber());
+            if (entry != null) {
+                boolean isCorrect = entry.matches(answer.userAnswer());
+                submitAnswer(examId, entry.questionId(), answer.userAnswer(), null, isCorrect);
+            }
         }
-        // 1. 축약형 확장 (I'm -> I am 등)
-        String expanded = expandContractions(answer);
-        // 2. 영문자(a-z), 숫자(0-9)만 유지 (하이픈, 아포스트로피, 공백 모두 제거)
-        return expanded.replaceAll("[^a-z0-9]", "");
+        return submitExam(examId);
     }
 
     /**
-     * 정규화 후 비교하여 채점 (축약형 동등 처리 + 대체 정답)
+     * 온라인 일괄 답안 입력 레코드
      */
-    public boolean isCorrectWithNormalization(String userAnswer, String correctAnswer, String altAnswers) {
-        String normalizedUser = normalizeAnswer(userAnswer);
-        if (normalizedUser.equals(normalizeAnswer(correctAnswer))) return true;
-        if (altAnswers != null && !altAnswers.isBlank()) {
-            for (String alt : altAnswers.split("\\|")) {
-                if (normalizedUser.equals(normalizeAnswer(alt.trim()))) return true;
-            }
-        }
-        return false;
+    public record AnswerInput(
+            Long questionId,
+            String answer) {
     }
 
     /**
-     * 사용자 확인된 답안 배열로 채점 (OCR 후 확인/수정된 답안)
+     * 일괄 답안 채점 결과 (saved=false: 해당 회차 문제가 아니어서 저장하지 않음)
      */
-    @Transactional
-    public Exam gradeOfflineAnswers(Long examId, List<OfflineAnswerInput> answers, List<Question> questions) {
-        for (OfflineAnswerInput answer : answers) {
-            if (answer.questionNumber() > 0 && answer.questionNumber() <= questions.size()) {
-                Question question = questions.get(answer.questionNumber() - 1);
-                boolean isCorrect = isCorrectWithNormalization(answer.userAnswer(), question.getAnswer(), question.getAltAnswers());
-                submitAnswer(examId, question.getId(), answer.userAnswer(), null, isCorrect);
-            }
-        }
-        return submitExam(examId);
+    public record AnswerResult(
+            Long questionId,
+            String userAnswer,
+            String correctAnswer,
+            boolean isCorrect,
+            String feedback,
+            boolean saved) {
     }
 
     /**
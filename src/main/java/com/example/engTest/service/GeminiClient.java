@@ -0,0 +1,183 @@
+package com.example.engTest.service;
+
+import com.example.engTest.config.ApiConfig;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gemini generateContent 호출 클라이언트
+ * - WebClient/커넥션 풀을 공유하고 호출마다 타임아웃을 건다.
+ * - 동시 호출 수, 호출 속도, 우선순위, 서킷 브레이커는 GeminiDispatcher가 담당한다.
+ * 결과는 Mono로 반환하므로, 컨트롤러가 그대로 반환하면 서블릿 스레드를 점유하지 않는다.
+ */
+@Slf4j
+@Component
+public class GeminiClient implements StatsProvider {
+
+    private final ApiConfig apiConfig;
+    private final ConnectionProvider connectionProvider;
+    private final WebClient webClient;
+    private final GeminiResponseCache responseCache;
+    private final GeminiDispatcher dispatcher;
+
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    /**
+     * Gemini가 오류 상태 코드로 응답한 경우
+     */
+    @Getter
+    public static class GeminiApiException extends RuntimeException {
+        private final int statusCode;
+        private final Long retryAfterMs;
+
+        public GeminiApiException(int statusCode, Long retryAfterMs, String body) {
+            super("Gemini API error (" + statusCode + "): " + body);
+            this.statusCode = statusCode;
+            this.retryAfterMs = retryAfterMs;
+        }
+    }
+
+    public GeminiClient(ApiConfig apiConfig, WebClient.Builder webClientBuilder,
+            GeminiResponseCache responseCache, GeminiDispatcher dispatcher) {
+        this.apiConfig = apiConfig;
+        this.responseCache = responseCache;
+        this.dispatcher = dispatcher;
+        ApiConfig.GeminiConfig gemini = apiConfig.getGemini();
+        this.connectionProvider = ConnectionProvider.builder("gemini")
+                .maxConnections(gemini.getMaxConnections())
+                .pendingAcquireTimeout(Duration.ofSeconds(gemini.getTimeoutSeconds()))
+                .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .responseTimeout(Duration.ofSeconds(gemini.getTimeoutSeconds()));
+        this.webClient = webClientBuilder.clone()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(16 * 1024 * 1024))
+                .build();
+    }
+
+    /**
+     * generateContent 호출 (응답 본문 JSON 문자열, 캐시 사용 안 함)
+     * 디스패처 대기열에 priority로 넣는다.
+     */
+    public Mono<String> generateContent(Map<String, Object> requestBody, GeminiDispatcher.Priority priority) {
+        return call(requestBody, priority);
+    }
+
+    /**
+     * 같은 입력이면 같은 답이 기대되는 호출용 (발음기호, 텍스트 채점)
+     * 같은 모델/요청 본문의 성공 응답이 캐시에 있으면 호출하지 않고 그 응답을 반환한다.
+     * 호출 측에서 응답을 해석하지 못하면 evictCached로 지워 다음 호출이 다시 요청하게 한다.
+     */
+    public Mono<String> generateContentCached(Map<String, Object> requestBody, GeminiDispatcher.Priority priority) {
+        if (!responseCache.isEnabled()) {
+            return call(requestBody, priority);
+        }
+        String cacheKey = responseCache.key(apiConfig.getGemini().getModel(), requestBody);
+        return Mono.fromCallable(() -> responseCache.get(cacheKey))
+                .subscribeOn(Schedulers.boundedElastic())
+                .switchIfEmpty(Mono.defer(() -> {
+                    long start = System.nanoTime();
+                    return call(requestBody, priority).doOnNext(response -> {
+                        responseCache.recordUpstream(System.nanoTime() - start);
+                        responseCache.put(cacheKey, response);
+                    });
+                }));
+    }
+
+    /**
+     * generateContentCached로 저장된 응답 삭제 (해석 실패한 응답을 재사용하지 않도록)
+     */
+    public void evictCached(Map<String, Object> requestBody) {
+        if (!responseCache.isEnabled()) return;
+        responseCache.evict(responseCache.key(apiConfig.getGemini().getModel(), requestBody));
+    }
+
+    private Mono<String> call(Map<String, Object> requestBody, GeminiDispatcher.Priority priority) {
+        Duration timeout = Duration.ofSeconds(apiConfig.getGemini().getTimeoutSeconds());
+        return dispatcher.dispatch(priority, () -> {
+            calls.incrementAndGet();
+            return Mono.defer(() -> post(requestBody))
+                    .timeout(timeout)
+                    .doOnError(e -> failures.incrementAndGet());
+        });
+    }
+
+    private Mono<String> post(Map<String, Object> requestBody) {
+        return webClient.post()
+                .uri(getGeminiApiUrl())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(requestBody)
+                .retrieve()
+                .onStatus(status -> status.is4xxClientError() || status.is5xxServerError(),
+                        clientResponse -> clientResponse.bodyToMono(String.class)
+                                .defaultIfEmpty("")
+                                .doOnNext(errorBody -> log.error("Gemini API error response: {}", errorBody))
+                                .flatMap(errorBody -> Mono.error(new GeminiApiException(
+                                        clientResponse.statusCode().value(),
+                                        retryAfterMs(clientResponse.headers().asHttpHeaders().getFirst(HttpHeaders.RETRY_AFTER)),
+                                        errorBody))))
+                .bodyToMono(String.class);
+    }
+
+    /**
+     * Retry-After 헤더(초 단위)를 ms로, 없거나 날짜 형식이면 null
+     */
+    private static Long retryAfterMs(String retryAfter) {
+        if (retryAfter == null) return null;
+        try {
+            return Long.parseLong(retryAfter.trim()) * 1000;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private String getGeminiApiUrl() {
+        String apiKey = apiConfig.getGemini().getKey();
+        if (apiKey == null || apiKey.isEmpty()) {
+            throw new RuntimeException("Gemini API 키가 설정되지 않았습니다.");
+        }
+        String model = apiConfig.getGemini().getModel();
+        String baseUrl = apiConfig.getGemini().getUrl();
+        return String.format("%s/%s:generateContent?key=%s", baseUrl, model, apiKey);
+    }
+
+    @Override
+    public String getStatsName() {
+        return "gemini";
+    }
+
+    /**
+     * 호출 통계
+     */
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("maxConcurrent", apiConfig.getGemini().getMaxConcurrent());
+        stats.put("ratePerMinute", apiConfig.getGemini().getRatePerMinute());
+        stats.put("calls", calls.get());
+        stats.put("failures", failures.get());
+        stats.put("dispatcher", dispatcher.getStats());
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        connectionProvider.dispose();
+    }
+}
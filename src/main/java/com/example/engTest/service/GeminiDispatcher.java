@@ -0,0 +1,360 @@
+package com.example.engTest.service;
+
+import com.example.engTest.config.ApiConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Gemini 호출 디스패처 (모든 Gemini 호출이 이곳을 거침)
+ * - 동시 호출 수: max-concurrent
+ * - 호출 속도: token bucket (분당 rate-per-minute, 최대 burst개 누적). 429를 받으면 Retry-After(없으면 throttle-backoff-ms) 동안 멈춤
+ * - 대기열: 우선순위(INTERACTIVE > STANDARD > BULK) 순, 같은 우선순위는 도착 순. 우선순위별 최대 대기 시간을 넘기면 503
+ * - 서킷 브레이커: 연속 breaker-failure-threshold회 실패하면 breaker-open-ms 동안 즉시 503,
+ *   이후 한 건만 시험 호출해 성공하면 닫고 실패하면 다시 연다
+ */
+@Slf4j
+@Component
+public class GeminiDispatcher {
+
+    public enum Priority {
+        /** 학생 답안 실시간 채점 */
+        INTERACTIVE,
+        /** 화면에서 기다리는 일반 요청 (OCR, 발음기호 등) */
+        STANDARD,
+        /** 문제 생성, 일괄 작업 */
+        BULK
+    }
+
+    private enum BreakerState { CLOSED, OPEN, HALF_OPEN }
+
+    private final ApiConfig apiConfig;
+
+    // 아래 상태는 모두 this로 동기화
+    private final PriorityQueue<Pending> queue = new PriorityQueue<>();
+    private long sequence;
+    private int inFlight;
+    private double tokens;
+    private long lastRefillNanos = System.nanoTime();
+    private long throttledUntilMs;
+    private Disposable drainTimer;
+    private BreakerState breakerState = BreakerState.CLOSED;
+    private int consecutiveFailures;
+    private long breakerOpenedAtMs;
+    private boolean trialInFlight;
+
+    private final AtomicLong dispatched = new AtomicLong();
+    private final AtomicLong succeeded = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong timedOutInQueue = new AtomicLong();
+    private final AtomicLong shortCircuited = new AtomicLong();
+    private final AtomicLong throttled = new AtomicLong();
+    private final AtomicLong breakerTrips = new AtomicLong();
+
+    private final class Pending implements Comparable<Pending> {
+        final Priority priority;
+        final long seq;
+        final Supplier<Mono<String>> call;
+        final MonoSink<String> sink;
+        // 대기 시간 초과 타이머, 대기열에 넣을 때 같은 락 안에서 설정 (this로 동기화)
+        Disposable timeout;
+        boolean trial;
+        boolean done;
+
+        Pending(Priority priority, long seq, Supplier<Mono<String>> call, MonoSink<String> sink) {
+            this.priority = priority;
+            this.seq = seq;
+            this.call = call;
+            this.sink = sink;
+        }
+
+        @Override
+        public int compareTo(Pending other) {
+            int c = priority.compareTo(other.priority);
+            return c != 0 ? c : Long.compare(seq, other.seq);
+        }
+    }
+
+    public GeminiDispatcher(ApiConfig apiConfig) {
+        this.apiConfig = apiConfig;
+        this.tokens = Math.max(1, apiConfig.getGemini().getBurst());
+    }
+
+    /**
+     * 호출 예약 (구독 시 대기열에 들어가고, 차례가 되면 call을 실행)
+     */
+    public Mono<String> dispatch(Priority priority, Supplier<Mono<String>> call) {
+        return Mono.create(sink -> {
+            Pending pending;
+            synchronized (this) {
+                if (!allowByBreaker()) {
+                    shortCircuited.incrementAndGet();
+                    sink.error(unavailable("AI 서비스 응답이 불안정해 잠시 후 다시 시도해주세요."));
+                    return;
+                }
+                pending = new Pending(priority, sequence++, call, sink);
+                // 다른 스레드의 drain/openBreaker가 꺼내기 전에 타이머가 설정되어 있도록 락 안에서 예약
+                // (타이머가 먼저 실행돼도 expire는 이 락을 기다린 뒤 대기열에서 찾음)
+                pending.timeout = Schedulers.parallel().schedule(() -> expire(pending),
+                        maxWaitMs(priority), TimeUnit.MILLISECONDS);
+                queue.add(pending);
+            }
+            sink.onCancel(() -> {
+                synchronized (this) {
+                    queue.remove(pending);
+                    cancelTimeout(pending);
+                }
+            });
+            drain();
+        });
+    }
+
+    /**
+     * Gemini 호출이 가능한 상태인지 (서킷이 열려 있으면 false)
+     * 로컬 대체 수단이 있는 호출자는 false일 때 Gemini를 건너뛴다.
+     */
+    public synchronized boolean isAvailable() {
+        return breakerState != BreakerState.OPEN
+                || System.currentTimeMillis() - breakerOpenedAtMs >= apiConfig.getGemini().getBreakerOpenMs();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        synchronized (this) {
+            refillTokens();
+            stats.put("breaker", breakerState.name());
+            stats.put("consecutiveFailures", consecutiveFailures);
+            stats.put("inFlight", inFlight);
+            stats.put("queued", queue.size());
+            stats.put("tokens", Math.floor(tokens * 100) / 100);
+            stats.put("throttledForMs", Math.max(0, throttledUntilMs - System.currentTimeMillis()));
+        }
+        stats.put("dispatched", dispatched.get());
+        stats.put("succeeded", succeeded.get());
+        stats.put("failed", failed.get());
+        stats.put("timedOutInQueue", timedOutInQueue.get());
+        stats.put("shortCircuited", shortCircuited.get());
+        stats.put("throttled", throttled.get());
+        stats.put("breakerTrips", breakerTrips.get());
+        return stats;
+    }
+
+    // ========== Internal ==========
+
+    /**
+     * 실행 가능한 만큼 대기열에서 꺼내 실행 (토큰이 모자라면 다음 토큰 시점에 다시 시도)
+     */
+    private void drain() {
+        while (true) {
+            Pending next;
+            synchronized (this) {
+                if (queue.isEmpty() || inFlight >= apiConfig.getGemini().getMaxConcurrent()) return;
+                if (breakerState == BreakerState.HALF_OPEN && trialInFlight) return;
+
+                long now = System.currentTimeMillis();
+                if (now < throttledUntilMs) {
+                    scheduleDrain(throttledUntilMs - now);
+                    return;
+                }
+                refillTokens();
+                if (tokens < 1) {
+                    scheduleDrain((long) Math.ceil((1 - tokens) * 60_000 / ratePerMinute()));
+                    return;
+                }
+
+                next = queue.poll();
+                cancelTimeout(next);
+                tokens -= 1;
+                inFlight++;
+                if (breakerState == BreakerState.HALF_OPEN) {
+                    trialInFlight = true;
+                    next.trial = true;
+                }
+            }
+            start(next);
+        }
+    }
+
+    private void start(Pending pending) {
+        dispatched.incrementAndGet();
+        Mono<String> call;
+        try {
+            call = pending.call.get();
+        } catch (RuntimeException e) {
+            call = Mono.error(e);
+        }
+        Disposable running = call.subscribe(
+                response -> {
+                    onComplete(pending, null);
+                    pending.sink.success(response);
+                },
+                error -> {
+                    onComplete(pending, error);
+                    pending.sink.error(error);
+                },
+                () -> {
+                    if (onComplete(pending, null)) {
+                        pending.sink.success();
+                    }
+                });
+        // 호출 중 구독이 취소되면 (클라이언트 연결 종료 등) 슬롯만 반납
+        pending.sink.onDispose(() -> {
+            running.dispose();
+            if (release(pending)) {
+                drain();
+            }
+        });
+    }
+
+    /**
+     * 호출 결과 반영, 이미 반영된 호출이면 false
+     */
+    private boolean onComplete(Pending pending, Throwable error) {
+        synchronized (this) {
+            if (!release(pending)) return false;
+            if (error == null) {
+                succeeded.incrementAndGet();
+                consecutiveFailures = 0;
+                if (breakerState != BreakerState.CLOSED) {
+                    log.info("Gemini circuit closed");
+                }
+                breakerState = BreakerState.CLOSED;
+            } else if (countsAsFailure(error)) {
+                failed.incrementAndGet();
+                consecutiveFailures++;
+                if (error instanceof GeminiClient.GeminiApiException api && api.getStatusCode() == 429) {
+                    throttle(api.getRetryAfterMs());
+                }
+                if (breakerState == BreakerState.HALF_OPEN
+                        || consecutiveFailures >= apiConfig.getGemini().getBreakerFailureThreshold()) {
+                    openBreaker();
+                }
+            } else {
+                failed.incrementAndGet();
+            }
+        }
+        drain();
+        return true;
+    }
+
+    /**
+     * 실행 슬롯 반납 (한 번만 반영)
+     */
+    private synchronized boolean release(Pending pending) {
+        if (pending.done) return false;
+        pending.done = true;
+        inFlight--;
+        if (pending.trial) {
+            trialInFlight = false;
+        }
+        return true;
+    }
+
+    private void expire(Pending pending) {
+        synchronized (this) {
+            if (!queue.remove(pending)) return;
+        }
+        timedOutInQueue.incrementAndGet();
+        log.warn("Gemini {} request waited over {}ms in queue", pending.priority, maxWaitMs(pending.priority));
+        pending.sink.error(unavailable("AI 요청이 많아 잠시 후 다시 시도해주세요."));
+    }
+
+    /**
+     * 서킷 상태 확인 (OPEN 시간이 지났으면 HALF_OPEN으로 전환)
+     */
+    private boolean allowByBreaker() {
+        if (breakerState != BreakerState.OPEN) return true;
+        if (System.currentTimeMillis() - breakerOpenedAtMs < apiConfig.getGemini().getBreakerOpenMs()) return false;
+        breakerState = BreakerState.HALF_OPEN;
+        trialInFlight = false;
+        log.info("Gemini circuit half-open, allowing a trial call");
+        return true;
+    }
+
+    private void openBreaker() {
+        if (breakerState != BreakerState.OPEN) {
+            breakerTrips.incrementAndGet();
+            log.warn("Gemini circuit opened after {} consecutive failures", consecutiveFailures);
+        }
+        breakerState = BreakerState.OPEN;
+        breakerOpenedAtMs = System.currentTimeMillis();
+        // 대기 중인 요청도 기다리지 않고 바로 실패
+        Pending pending;
+        while ((pending = queue.poll()) != null) {
+            cancelTimeout(pending);
+            shortCircuited.incrementAndGet();
+            pending.sink.error(unavailable("AI 서비스 응답이 불안정해 잠시 후 다시 시도해주세요."));
+        }
+    }
+
+    private void cancelTimeout(Pending pending) {
+        if (pending.timeout != null) {
+            pending.timeout.dispose();
+        }
+    }
+
+    private void throttle(Long retryAfterMs) {
+        long pauseMs = retryAfterMs != null ? retryAfterMs : apiConfig.getGemini().getThrottleBackoffMs();
+        throttledUntilMs = Math.max(throttledUntilMs, System.currentTimeMillis() + pauseMs);
+        tokens = 0;
+        throttled.incrementAndGet();
+        log.warn("Gemini rate limited (429), pausing dispatch for {}ms", pauseMs);
+    }
+
+    /**
+     * 서버/네트워크 쪽 문제만 서킷 실패로 셈 (요청 자체의 4xx 오류는 제외, 429는 포함)
+     */
+    private boolean countsAsFailure(Throwable error) {
+        if (error instanceof GeminiClient.GeminiApiException api) {
+            return api.getStatusCode() == 429 || api.getStatusCode() >= 500;
+        }
+        return error instanceof TimeoutException || error instanceof java.io.IOException
+                || error instanceof org.springframework.web.reactive.function.client.WebClientRequestException;
+    }
+
+    private void refillTokens() {
+        long now = System.nanoTime();
+        double elapsedMinutes = (now - lastRefillNanos) / 60_000_000_000.0;
+        lastRefillNanos = now;
+        tokens = Math.min(Math.max(1, apiConfig.getGemini().getBurst()), tokens + elapsedMinutes * ratePerMinute());
+    }
+
+    private void scheduleDrain(long delayMs) {
+        if (drainTimer != null && !drainTimer.isDisposed()) return;
+        drainTimer = Schedulers.parallel().schedule(() -> {
+            synchronized (this) {
+                drainTimer = null;
+            }
+            drain();
+        }, Math.max(1, delayMs), TimeUnit.MILLISECONDS);
+    }
+
+    private int ratePerMinute() {
+        return Math.max(1, apiConfig.getGemini().getRatePerMinute());
+    }
+
+    private long maxWaitMs(Priority priority) {
+        return switch (priority) {
+            case INTERACTIVE -> apiConfig.getGemini().getInteractiveMaxWaitMs();
+            case STANDARD -> apiConfig.getGemini().getMaxWaitMs();
+            case BULK -> apiConfig.getGemini().getBulkMaxWaitMs();
+        };
+    }
+
+    private static ResponseStatusException unavailable(String message) {
+        return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, message);
+    }
+}
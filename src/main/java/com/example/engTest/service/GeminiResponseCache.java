@@ -0,0 +1,364 @@
+package com.example.engTest.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gemini 응답 캐시 (내용 주소 방식)
+ * 키는 모델 + 요청 본문(프롬프트, 이미지 base64 포함)의 SHA-256이므로 같은 프롬프트/같은 이미지면 같은 키가 된다.
+ * - 메모리: 접근 순서 LRU, max-entries / max-memory-mb 초과 시 오래된 항목부터 제거
+ * - 디스크: dir 아래 &lt;키&gt;.json 파일, 재시작 후에도 유지. sweep-ms마다 만료 파일 삭제 후 max-disk-mb 초과분을 오래된 순으로 삭제
+ * 두 계층 모두 ttl-hours가 지나면 미스로 취급한다. 오류 응답과 candidates가 없는 응답은 저장하지 않는다.
+ * 학생 답안이 포함된 프롬프트가 저장되므로 dir은 저장소 밖이나 무시 목록(.gitignore)에 있는 경로를 쓴다.
+ */
+@Slf4j
+@Component
+public class GeminiResponseCache implements StatsProvider {
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final long ttlMs;
+    private final int maxEntries;
+    private final long maxMemoryBytes;
+    private final long maxDiskBytes;
+    private final Path dir;
+
+    // access-order LinkedHashMap (this로 동기화)
+    private final LinkedHashMap<String, Entry> memory = new LinkedHashMap<>(256, 0.75f, true);
+    private long memoryBytes;
+
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong stores = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong diskErrors = new AtomicLong();
+    private final AtomicLong tokensSaved = new AtomicLong();
+    private final AtomicLong upstreamCalls = new AtomicLong();
+    private final AtomicLong upstreamNanos = new AtomicLong();
+
+    private record Entry(String response, long createdAt, int tokens) {
+        long bytes() {
+            return (long) response.length() * 2;
+        }
+    }
+
+    private record DiskFile(Path path, long lastModified, long size) {
+    }
+
+    public GeminiResponseCache(ObjectMapper objectMapper,
+            @Value("${gemini-cache.enabled:true}") boolean enabled,
+            @Value("${gemini-cache.ttl-hours:168}") long ttlHours,
+            @Value("${gemini-cache.max-entries:2000}") int maxEntries,
+            @Value("${gemini-cache.max-memory-mb:64}") long maxMemoryMb,
+            @Value("${gemini-cache.max-disk-mb:512}") long maxDiskMb,
+            @Value("${gemini-cache.dir:cache/gemini}") String dir) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.ttlMs = ttlHours * 3600_000L;
+        this.maxEntries = maxEntries;
+        this.maxMemoryBytes = maxMemoryMb * 1024 * 1024;
+        this.maxDiskBytes = maxDiskMb * 1024 * 1024;
+        this.dir = Paths.get(dir);
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) return;
+        try {
+            Files.createDirectories(dir);
+        } catch (IOException e) {
+            log.warn("Gemini cache directory unavailable ({}), disk store disabled: {}", dir, e.getMessage());
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 캐시 키 (모델 + 요청 본문 JSON의 SHA-256, 맵 키 순서를 고정해 직렬화)
+     */
+    public String key(String model, Map<String, Object> requestBody) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(String.valueOf(model).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            // 본문을 byte[]로 만들지 않고 digest에 바로 흘려보냄 (이미지 base64가 클 수 있음)
+            try (OutputStream out = new DigestOutputStream(OutputStream.nullOutputStream(), digest)) {
+                objectMapper.writer()
+                        .with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+                        .writeValue(out, requestBody);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException | IOException e) {
+            throw new IllegalStateException("Failed to compute Gemini cache key", e);
+        }
+    }
+
+    /**
+     * 캐시 조회 (메모리 → 디스크), 없거나 만료면 null
+     * 디스크를 읽을 수 있으므로 이벤트 루프가 아닌 스레드에서 호출한다.
+     */
+    public String get(String key) {
+        long now = System.currentTimeMillis();
+        Entry entry;
+        synchronized (this) {
+            entry = memory.get(key);
+            if (entry != null && now - entry.createdAt() > ttlMs) {
+                removeFromMemory(key);
+                entry = null;
+            }
+        }
+        if (entry != null) {
+            memoryHits.incrementAndGet();
+            tokensSaved.addAndGet(entry.tokens());
+            return entry.response();
+        }
+
+        entry = readFromDisk(key, now);
+        if (entry != null) {
+            diskHits.incrementAndGet();
+            tokensSaved.addAndGet(entry.tokens());
+            putInMemory(key, entry);
+            return entry.response();
+        }
+
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * 성공 응답 저장 (메모리는 즉시, 디스크는 boundedElastic에서 기록)
+     */
+    public void put(String key, String response) {
+        if (response == null) return;
+        int tokens;
+        try {
+            JsonNode root = objectMapper.readTree(response);
+            if (!root.path("candidates").isArray() || root.path("candidates").isEmpty()) {
+                return;
+            }
+            tokens = root.path("usageMetadata").path("totalTokenCount").asInt(0);
+        } catch (IOException e) {
+            return;
+        }
+
+        Entry entry = new Entry(response, System.currentTimeMillis(), tokens);
+        putInMemory(key, entry);
+        stores.incrementAndGet();
+        Schedulers.boundedElastic().schedule(() -> writeToDisk(key, entry));
+    }
+
+    /**
+     * 항목 삭제 (메모리 + 디스크), 호출 측이 응답을 해석하지 못한 경우
+     * 디스크를 지우므로 이벤트 루프가 아닌 스레드에서 호출한다.
+     */
+    public void evict(String key) {
+        synchronized (this) {
+            removeFromMemory(key);
+        }
+        try {
+            Files.deleteIfExists(dir.resolve(key + ".json"));
+        } catch (IOException e) {
+            diskErrors.incrementAndGet();
+            log.debug("Gemini cache delete failed for {}: {}", key, e.getMessage());
+        }
+        evictions.incrementAndGet();
+    }
+
+    /**
+     * 실제 Gemini 호출 소요 시간 기록 (캐시 적중으로 절약한 시간 추정용)
+     */
+    public void recordUpstream(long elapsedNanos) {
+        upstreamCalls.incrementAndGet();
+        upstreamNanos.addAndGet(elapsedNanos);
+    }
+
+    /**
+     * 만료 파일 삭제 + 디스크 용량 초과분을 오래된 순으로 삭제
+     */
+    @Scheduled(fixedDelayString = "${gemini-cache.sweep-ms:600000}")
+    public void sweep() {
+        if (!enabled || !Files.isDirectory(dir)) return;
+
+        long now = System.currentTimeMillis();
+        List<DiskFile> files = new ArrayList<>();
+        long totalBytes = 0;
+        int expired = 0;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "*.json")) {
+            for (Path file : stream) {
+                long lastModified = Files.getLastModifiedTime(file).toMillis();
+                if (now - lastModified > ttlMs) {
+                    Files.deleteIfExists(file);
+                    expired++;
+                    continue;
+                }
+                long size = Files.size(file);
+                files.add(new DiskFile(file, lastModified, size));
+                totalBytes += size;
+            }
+        } catch (IOException e) {
+            diskErrors.incrementAndGet();
+            log.warn("Gemini cache sweep failed: {}", e.getMessage());
+            return;
+        }
+
+        int removed = 0;
+        if (totalBytes > maxDiskBytes) {
+            files.sort(Comparator.comparingLong(DiskFile::lastModified));
+            for (int i = 0; i < files.size() && totalBytes > maxDiskBytes; i++) {
+                try {
+                    Files.deleteIfExists(files.get(i).path());
+                    totalBytes -= files.get(i).size();
+                    removed++;
+                } catch (IOException e) {
+                    diskErrors.incrementAndGet();
+                }
+            }
+        }
+
+        if (expired > 0 || removed > 0) {
+            evictions.addAndGet(removed);
+            log.info("Gemini cache sweep: {} expired, {} evicted for size, {} files remaining",
+                    expired, removed, files.size() - removed);
+        }
+    }
+
+    @Override
+    public String getStatsName() {
+        return "gemini-cache";
+    }
+
+    /**
+     * 캐시 통계
+     * estimatedSavedMs: 적중 수 × 실제 호출 평균 소요 시간
+     */
+    @Override
+    public Map<String, Object> getStats() {
+        long hits = memoryHits.get() + diskHits.get();
+        long lookups = hits + misses.get();
+        long calls = upstreamCalls.get();
+        long avgUpstreamMs = calls > 0 ? upstreamNanos.get() / calls / 1_000_000 : 0;
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        synchronized (this) {
+            stats.put("memoryEntries", memory.size());
+            stats.put("memoryBytes", memoryBytes);
+        }
+        stats.put("memoryHits", memoryHits.get());
+        stats.put("diskHits", diskHits.get());
+        stats.put("misses", misses.get());
+        stats.put("hitRate", lookups > 0 ? (double) hits / lookups : 0.0);
+        stats.put("stores", stores.get());
+        stats.put("evictions", evictions.get());
+        stats.put("diskErrors", diskErrors.get());
+        stats.put("avgUpstreamMs", avgUpstreamMs);
+        stats.put("estimatedSavedMs", hits * avgUpstreamMs);
+        stats.put("tokensSaved", tokensSaved.get());
+        return stats;
+    }
+
+    // ========== Internal ==========
+
+    private synchronized void putInMemory(String key, Entry entry) {
+        removeFromMemory(key);
+        memory.put(key, entry);
+        memoryBytes += entry.bytes();
+
+        Iterator<Map.Entry<String, Entry>> it = memory.entrySet().iterator();
+        while ((memory.size() > maxEntries || memoryBytes > maxMemoryBytes) && it.hasNext()) {
+            Map.Entry<String, Entry> eldest = it.next();
+            if (eldest.getKey().equals(key)) break;
+            memoryBytes -= eldest.getValue().bytes();
+            it.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    private void removeFromMemory(String key) {
+        Entry removed = memory.remove(key);
+        if (removed != null) {
+            memoryBytes -= removed.bytes();
+        }
+    }
+
+    private Entry readFromDisk(String key, long now) {
+        Path file = dir.resolve(key + ".json");
+        try {
+            long lastModified = Files.getLastModifiedTime(file).toMillis();
+            if (now - lastModified > ttlMs) {
+                Files.deleteIfExists(file);
+                return null;
+            }
+            String response = Files.readString(file, StandardCharsets.UTF_8);
+            int tokens = objectMapper.readTree(response).path("usageMetadata").path("totalTokenCount").asInt(0);
+            return new Entry(response, lastModified, tokens);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            diskErrors.incrementAndGet();
+            log.debug("Gemini cache read failed for {}: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeToDisk(String key, Entry entry) {
+        Path file = dir.resolve(key + ".json");
+        Path tmp = null;
+        try {
+            // 임시 파일에 쓴 뒤 이동해 반쯤 쓰인 파일을 읽지 않게 함
+            tmp = Files.createTempFile(dir, key, ".tmp");
+            Files.writeString(tmp, entry.response(), StandardCharsets.UTF_8);
+            // 기록 전에 evict된 항목은 디스크에 되살리지 않음 (확인과 이동을 evict의 메모리 삭제와 같은 락 안에서)
+            synchronized (this) {
+                if (!memory.containsKey(key)) {
+                    Files.deleteIfExists(tmp);
+                    return;
+                }
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            diskErrors.incrementAndGet();
+            log.debug("Gemini cache write failed for {}: {}", key, e.getMessage());
+            if (tmp != null) {
+                try {
+                    Files.deleteIfExists(tmp);
+                } catch (IOException ignored) {
+                    // sweep 대상이 아니므로 남아도 조회에는 영향 없음
+                }
+            }
+        }
+    }
+}
@@ -7,23 +7,30 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
-import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
-import java.util.Base64;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.function.Consumer;
 
 @Slf4j
 @Service
@@ -32,7 +39,10 @@ public class GeminiService {
 
     private final ApiConfig apiConfig;
     private final ObjectMapper objectMapper;
-    private final WebClient.Builder webClientBuilder;
+    private final GeminiClient geminiClient;
+    private final GeminiDispatcher geminiDispatcher;
+    private final ImagePayloadEncoder imagePayloadEncoder;
+    private final AnswerSheetPreprocessor answerSheetPreprocessor;
     private final QuestionMapper questionMapper;
 
     private static final String UPLOAD_DIR = "uploads/";
@@ -40,17 +50,24 @@ public class GeminiService {
     // ========== Public API Methods ==========
 
     /**
-     * AI를 사용하여 영어 문제 자동 생성
+     * AI를 사용하여 영어 문제 자동 생성 (비동기)
+     * 응답 파싱은 seqNo 조회(DB)를 포함하므로 boundedElastic에서 수행한다.
      */
-    public List<Question> generateQuestions(Long roundId, String prompt, int count, String difficulty,
+    public Mono<List<Question>> generateQuestionsAsync(Long roundId, String prompt, int count, String difficulty,
             String questionType) {
-        try {
-            String response = callGemini(prompt);
-            return parseQuestions(response, roundId, questionType);
-        } catch (Exception e) {
-            log.error("Failed to generate questions from Gemini", e);
-            throw new RuntimeException("문제 생성에 실패했습니다: " + e.getMessage());
-        }
+        return requestGemini(prompt, GeminiDispatcher.Priority.BULK)
+                .publishOn(Schedulers.boundedElastic())
+                .map(response -> {
+                    try {
+                        return parseQuestions(response, roundId, questionType);
+                    } catch (Exception e) {
+                        throw new RuntimeException(e.getMessage(), e);
+                    }
+                })
+                .onErrorMap(e -> !(e instanceof ResponseStatusException), e -> {
+                    log.error("Failed to generate questions from Gemini", e);
+                    return new RuntimeException("문제 생성에 실패했습니다: " + e.getMessage());
+                });
     }
 
     /**
@@ -58,13 +75,15 @@ public class GeminiService {
      */
     public GradeResult gradeImageAnswer(MultipartFile image, String promptTemplate, String correctAnswer)
             throws IOException {
+        // 원본은 디스크로 스트리밍 저장하고, 저장된 파일에서 (필요하면 축소해) 인코딩
         String imagePath = saveImage(image);
-        String base64Image = Base64.getEncoder().encodeToString(image.getBytes());
-        String mimeType = image.getContentType() != null ? image.getContentType() : "image/jpeg";
+        ImagePayloadEncoder.EncodedImage encoded = imagePayloadEncoder.encode(Paths.get(imagePath),
+                image.getContentType());
         String prompt = String.format(promptTemplate, correctAnswer);
 
         try {
-            String response = callGeminiWithImage(prompt, base64Image, mimeType);
+            String response = callGeminiWithImage(prompt, encoded.base64(), encoded.mimeType(),
+                    GeminiDispatcher.Priority.INTERACTIVE);
             return parseGradeResult(response, correctAnswer, imagePath);
         } catch (Exception e) {
             log.error("Failed to grade image answer", e);
@@ -72,6 +91,17 @@ public class GeminiService {
         }
     }
 
+    /**
+     * 정답표 항목 기준 텍스트 채점 (단건/일괄 제출 공통)
+     * 정규화 비교로 정답이면 AI 채점 생략, 아니면 AI로 철자/피드백 판정
+     */
+    public GradeResult gradeTextAnswer(AnswerKey.Entry key, String userAnswer) {
+        if (key.matches(userAnswer)) {
+            return new GradeResult(userAnswer, true, "정답입니다!", null);
+        }
+        return gradeTextAnswer(userAnswer, key.answer(), key.altAnswers());
+    }
+
     /**
      * 텍스트 기반 채점 (AI 사용 - 철자 엄격, 대소문자/띄어쓰기 무시)
      */
@@ -79,6 +109,10 @@ public class GeminiService {
         if (userAnswer == null || userAnswer.trim().isEmpty()) {
             return new GradeResult(userAnswer, false, "답을 입력하지 않았습니다.", null);
         }
+        // Gemini 장애 중(서킷 열림)에는 대기 없이 바로 단순 채점
+        if (!geminiDispatcher.isAvailable()) {
+            return gradeTextLocally(userAnswer, correctAnswer, altAnswers);
+        }
 
         String altAnswerLine = (altAnswers != null && !altAnswers.isBlank())
                 ? "\n                대체 정답(이것도 정답으로 인정): \"" + altAnswers.replace("|", "\", \"") + "\""
@@ -110,20 +144,27 @@ public class GeminiService {
                 """, correctAnswer, altAnswerLine, userAnswer);
 
         try {
-            String response = callGemini(prompt);
-            return parseGradeResult(response, correctAnswer, null);
+            return callGeminiCached(prompt, GeminiDispatcher.Priority.INTERACTIVE,
+                    response -> parseGradeResult(response, correctAnswer, null));
         } catch (Exception e) {
             log.error("AI grading failed, falling back to simple check", e);
-            String n1 = normalizeText(userAnswer);
-            boolean simpleCorrect = n1.equals(normalizeText(correctAnswer));
-            if (!simpleCorrect && altAnswers != null && !altAnswers.isBlank()) {
-                for (String alt : altAnswers.split("\\|")) {
-                    if (n1.equals(normalizeText(alt.trim()))) { simpleCorrect = true; break; }
-                }
+            return gradeTextLocally(userAnswer, correctAnswer, altAnswers);
+        }
+    }
+
+    /**
+     * 정규화(소문자, 문장부호 제거) 후 정답/대체 정답과 단순 비교
+     */
+    private GradeResult gradeTextLocally(String userAnswer, String correctAnswer, String altAnswers) {
+        String n1 = normalizeText(userAnswer);
+        boolean simpleCorrect = n1.equals(normalizeText(correctAnswer));
+        if (!simpleCorrect && altAnswers != null && !altAnswers.isBlank()) {
+            for (String alt : altAnswers.split("\\|")) {
+                if (n1.equals(normalizeText(alt.trim()))) { simpleCorrect = true; break; }
             }
-            return new GradeResult(userAnswer, simpleCorrect,
-                    simpleCorrect ? "정답입니다. (AI 연결 실패로 단순 채점됨)" : "오답입니다. (AI 연결 실패로 단순 채점됨)", null);
         }
+        return new GradeResult(userAnswer, simpleCorrect,
+                simpleCorrect ? "정답입니다. (AI 연결 실패로 단순 채점됨)" : "오답입니다. (AI 연결 실패로 단순 채점됨)", null);
     }
 
     public String saveImage(MultipartFile file) throws IOException {
@@ -147,31 +188,95 @@ public class GeminiService {
      * 이미지들에서 영어 단어/문장 추출
      */
     public List<String> extractWordsFromImages(List<MultipartFile> images, String customPrompt) throws IOException {
+        return extractWordsFromImages(images, customPrompt, null);
+    }
+
+    /**
+     * 이미지들에서 영어 단어/문장 추출 (청크 단위 병렬 처리)
+     * 페이지를 extract-chunk-size장씩 묶어 최대 extract-parallelism개 요청을 동시에 보내고,
+     * 결과는 페이지 순서대로 합친 뒤 중복을 제거한다.
+     * base64 인코딩은 청크가 실제로 전송될 때 수행하므로, 메모리에는 처리 중인 청크만 올라간다.
+     * 일부 청크가 실패해도 나머지 결과는 반환하며, 모든 청크가 실패한 경우에만 예외를 던진다.
+     */
+    public List<String> extractWordsFromImages(List<MultipartFile> images, String customPrompt,
+            Consumer<ChunkProgress> progressListener) throws IOException {
         if (images == null || images.isEmpty()) {
             return new ArrayList<>();
         }
 
-        List<Map<String, Object>> imageParts = new ArrayList<>();
-        for (MultipartFile image : images) {
-            String base64Image = Base64.getEncoder().encodeToString(image.getBytes());
-            String mimeType = image.getContentType() != null ? image.getContentType() : "image/jpeg";
+        int chunkSize = Math.max(1, apiConfig.getGemini().getExtractChunkSize());
+        int parallelism = Math.max(1, apiConfig.getGemini().getExtractParallelism());
+        List<List<MultipartFile>> chunks = new ArrayList<>();
+        for (int i = 0; i < images.size(); i += chunkSize) {
+            chunks.add(images.subList(i, Math.min(images.size(), i + chunkSize)));
+        }
+        int totalChunks = chunks.size();
+        AtomicInteger completed = new AtomicInteger();
+
+        List<ChunkResult> results = Flux.range(0, totalChunks)
+                .flatMapSequential(idx -> Mono.fromCallable(() -> toImageParts(chunks.get(idx)))
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .flatMap(parts -> requestGeminiWithMultipleImages(customPrompt, parts,
+                                GeminiDispatcher.Priority.BULK))
+                        .map(response -> {
+                            try {
+                                return new ChunkResult(idx, parseExtractedWords(response), null);
+                            } catch (Exception e) {
+                                throw new RuntimeException("응답 파싱 실패: " + e.getMessage(), e);
+                            }
+                        })
+                        .onErrorResume(e -> {
+                            log.error("Failed to extract words from chunk {}/{}", idx + 1, totalChunks, e);
+                            return Mono.just(new ChunkResult(idx, List.of(), e.getMessage()));
+                        })
+                        .doOnNext(r -> {
+                            ChunkProgress progress = new ChunkProgress(idx + 1, totalChunks, completed.incrementAndGet(),
+                                    chunks.get(idx).size(), r.words().size(), r.error());
+                            log.info("Word extraction chunk {}/{} done ({} pages, {} words{})", progress.chunk(),
+                                    totalChunks, progress.pages(), progress.words(),
+                                    r.error() != null ? ", failed" : "");
+                            if (progressListener != null) {
+                                progressListener.accept(progress);
+                            }
+                        }), parallelism)
+                .collectList()
+                .block();
 
-            Map<String, Object> inlineData = new HashMap<>();
-            inlineData.put("mimeType", mimeType);
-            inlineData.put("data", base64Image);
+        if (results == null || results.stream().allMatch(r -> r.error() != null)) {
+            String error = results != null && !results.isEmpty() ? results.get(0).error() : "no response";
+            throw new RuntimeException("이미지에서 단어를 추출할 수 없습니다: " + error);
+        }
 
-            Map<String, Object> imagePart = new HashMap<>();
-            imagePart.put("inlineData", inlineData);
-            imageParts.add(imagePart);
+        // 페이지 순서 유지 + 대소문자/공백 차이만 있는 중복 제거
+        Map<String, String> merged = new LinkedHashMap<>();
+        for (ChunkResult r : results) {
+            for (String word : r.words()) {
+                merged.putIfAbsent(word.trim().replaceAll("\\s+", " ").toLowerCase(), word);
+            }
         }
+        return new ArrayList<>(merged.values());
+    }
 
-        try {
-            String response = callGeminiWithMultipleImages(customPrompt, imageParts);
-            return parseExtractedWords(response);
-        } catch (Exception e) {
-            log.error("Failed to extract words from images", e);
-            throw new RuntimeException("이미지에서 단어를 추출할 수 없습니다: " + e.getMessage());
+    /**
+     * 청크의 이미지를 Gemini inlineData 파트로 변환 (큰 사진은 축소/재압축)
+     */
+    private List<Map<String, Object>> toImageParts(List<MultipartFile> images) throws IOException {
+        List<Map<String, Object>> imageParts = new ArrayList<>();
+        for (MultipartFile image : images) {
+            ImagePayloadEncoder.EncodedImage encoded = imagePayloadEncoder.encode(image);
+            imageParts.add(inlineImagePart(encoded.mimeType(), encoded.base64()));
         }
+        return imageParts;
+    }
+
+    private Map<String, Object> inlineImagePart(String mimeType, String base64) {
+        Map<String, Object> inlineData = new HashMap<>();
+        inlineData.put("mimeType", mimeType);
+        inlineData.put("data", base64);
+
+        Map<String, Object> imagePart = new HashMap<>();
+        imagePart.put("inlineData", inlineData);
+        return imagePart;
     }
 
     /**
@@ -179,7 +284,7 @@ public class GeminiService {
      */
     public List<Question> generateQuestionsFromWords(String prompt, Long roundId, String difficulty) {
         try {
-            String response = callGemini(prompt);
+            String response = callGemini(prompt, GeminiDispatcher.Priority.BULK);
             return parseQuestionsWithType(response, roundId, difficulty);
         } catch (Exception e) {
             log.error("Failed to generate questions from words", e);
@@ -193,8 +298,7 @@ public class GeminiService {
     public List<OfflineGradeResult> gradeOfflineAnswerSheet(MultipartFile answerSheet, String promptTemplate,
             List<Question> questions)
             throws IOException {
-        String base64Image = Base64.getEncoder().encodeToString(answerSheet.getBytes());
-        String mimeType = answerSheet.getContentType() != null ? answerSheet.getContentType() : "image/jpeg";
+        AnswerSheetPreprocessor.Result sheet = answerSheetPreprocessor.process(answerSheet);
 
         StringBuilder questionInfo = new StringBuilder();
         for (int i = 0; i < questions.size(); i++) {
@@ -205,7 +309,8 @@ public class GeminiService {
         String prompt = String.format(promptTemplate, questionInfo);
 
         try {
-            String response = callGeminiWithImage(prompt, base64Image, mimeType);
+            String response = callGeminiWithImage(prompt, sheet.base64(), sheet.mimeType(),
+                    GeminiDispatcher.Priority.STANDARD);
             return parseOfflineGradeResults(response);
         } catch (Exception e) {
             log.error("Failed to grade offline answer sheet", e);
@@ -214,12 +319,24 @@ public class GeminiService {
     }
 
     /**
-     * 오프라인 답안지 이미지에서 OCR로 답안만 추출
+     * 오프라인 답안지 이미지에서 OCR로 답안만 추출 (비동기)
+     * 이미지 전처리는 전처리 풀에서, Gemini 호출은 Mono로 진행하므로 호출 스레드는 바로 반환된다.
+     */
+    public Mono<OcrExtraction> extractAnswersFromImageAsync(MultipartFile answerSheet, int questionCount) {
+        return extractAnswers(() -> answerSheetPreprocessor.submit(answerSheet), questionCount,
+                GeminiDispatcher.Priority.STANDARD);
+    }
+
+    /**
+     * 디스크에 저장해 둔 답안지에서 OCR로 답안 추출 (일괄 채점 작업용)
      */
-    public List<OcrResult> extractAnswersFromImage(MultipartFile answerSheet, int questionCount) throws IOException {
-        String base64Image = Base64.getEncoder().encodeToString(answerSheet.getBytes());
-        String mimeType = answerSheet.getContentType() != null ? answerSheet.getContentType() : "image/jpeg";
+    public Mono<OcrExtraction> extractAnswersFromImageAsync(Path answerSheet, String contentType, int questionCount) {
+        return extractAnswers(() -> answerSheetPreprocessor.submit(answerSheet, contentType), questionCount,
+                GeminiDispatcher.Priority.BULK);
+    }
 
+    private Mono<OcrExtraction> extractAnswers(Supplier<CompletableFuture<AnswerSheetPreprocessor.Result>> preprocess,
+            int questionCount, GeminiDispatcher.Priority priority) {
         String prompt = String.format("""
                 이 답안지 이미지에서 각 문제 번호에 해당하는 사용자의 답을 읽어주세요.
 
@@ -239,13 +356,71 @@ public class GeminiService {
                 오직 JSON만 응답하세요. 다른 설명은 하지 마세요.
                 """, questionCount);
 
-        try {
-            String response = callGeminiWithImage(prompt, base64Image, mimeType);
-            return parseOcrResults(response);
-        } catch (Exception e) {
-            log.error("Failed to extract answers from image", e);
-            throw new RuntimeException("답안 추출에 실패했습니다: " + e.getMessage());
+        return Mono.fromFuture(preprocess)
+                .flatMap(sheet -> {
+                    long start = System.nanoTime();
+                    return requestGeminiWithImage(prompt, sheet.base64(), sheet.mimeType(), priority)
+                            .map(response -> {
+                                try {
+                                    return new OcrExtraction(parseOcrResults(response), sheet.report(),
+                                            (System.nanoTime() - start) / 1_000_000);
+                                } catch (Exception e) {
+                                    throw new RuntimeException(e.getMessage(), e);
+                                }
+                            });
+                })
+                .onErrorMap(e -> !(e instanceof ResponseStatusException), e -> {
+                    log.error("Failed to extract answers from image", e);
+                    return new RuntimeException("답안 추출에 실패했습니다: " + e.getMessage());
+                });
+    }
+
+    /**
+     * 답안지 여러 장을 요청 한 번으로 OCR (공통 지시문을 한 번만 보냄)
+     * 결과는 sheets와 같은 순서. 응답에 빠진 답안지가 있거나 파싱에 실패하면 오류로 끝나므로,
+     * 호출 측에서 한 장씩 다시 요청(extractAnswersFromImageAsync)한다.
+     */
+    public Mono<List<List<OcrResult>>> extractAnswersFromImagesBatch(List<SheetInput> sheets) {
+        StringBuilder sheetInfo = new StringBuilder();
+        for (int i = 0; i < sheets.size(); i++) {
+            sheetInfo.append(String.format("답안지 %d: %d문제%n", i + 1, sheets.get(i).questionCount()));
         }
+
+        String prompt = String.format("""
+                답안지 이미지 %d장이 순서대로 첨부되어 있습니다 (첫 번째 이미지 = 답안지 1).
+                각 답안지에서 문제 번호별로 사용자가 적은 답을 읽어주세요.
+
+                답안지별 문제 수:
+                %s
+                규칙:
+                1. 각 문제 번호(1, 2, 3...)에 해당하는 사용자가 적은 답을 그대로 읽어주세요.
+                2. 답을 읽을 수 없거나 비어있으면 빈 문자열("")로 표시하세요.
+                3. 채점하지 마세요. 단순히 적혀있는 텍스트만 추출하세요.
+                4. 답안지 번호는 이미지 순서와 반드시 일치해야 하며, 모든 답안지를 빠짐없이 포함하세요.
+
+                응답 형식 (JSON 배열):
+                [
+                  { "sheet": 1, "answers": [ { "questionNumber": 1, "userAnswer": "읽은 답" } ] },
+                  { "sheet": 2, "answers": [ { "questionNumber": 1, "userAnswer": "읽은 답" } ] }
+                ]
+
+                오직 JSON만 응답하세요. 다른 설명은 하지 마세요.
+                """, sheets.size(), sheetInfo);
+
+        return Flux.fromIterable(sheets)
+                .flatMapSequential(sheet -> Mono.fromFuture(
+                        () -> answerSheetPreprocessor.submit(sheet.file(), sheet.contentType())))
+                .map(prepared -> inlineImagePart(prepared.mimeType(), prepared.base64()))
+                .collectList()
+                .flatMap(imageParts -> requestGeminiWithMultipleImages(prompt, imageParts,
+                        GeminiDispatcher.Priority.BULK))
+                .map(response -> {
+                    try {
+                        return parseBatchOcrResults(response, sheets.size());
+                    } catch (Exception e) {
+                        throw new RuntimeException("답안지 일괄 추출 응답을 해석하지 못했습니다: " + e.getMessage(), e);
+                    }
+                });
     }
 
     /**
@@ -276,8 +451,7 @@ public class GeminiService {
                 """.formatted(String.join("\n", words));
 
         try {
-            String response = callGemini(prompt);
-            return parsePhonetics(response);
+            return callGeminiCached(prompt, GeminiDispatcher.Priority.STANDARD, this::parsePhonetics);
         } catch (Exception e) {
             log.error("Failed to generate phonetics", e);
             throw new RuntimeException("발음기호 생성 실패: " + e.getMessage());
@@ -325,6 +499,28 @@ public class GeminiService {
         return results;
     }
 
+    private List<List<OcrResult>> parseBatchOcrResults(String response, int sheetCount) throws Exception {
+        String jsonContent = extractJsonFromResponse(response);
+        JsonNode sheetsArray = objectMapper.readTree(jsonContent);
+
+        List<List<OcrResult>> results = new ArrayList<>(Collections.nCopies(sheetCount, null));
+        for (JsonNode sheet : sheetsArray) {
+            int index = sheet.path("sheet").asInt() - 1;
+            if (index < 0 || index >= sheetCount) continue;
+            List<OcrResult> answers = new ArrayList<>();
+            for (JsonNode r : sheet.path("answers")) {
+                answers.add(new OcrResult(r.path("questionNumber").asInt(), r.path("userAnswer").asText("")));
+            }
+            results.set(index, answers);
+        }
+        for (int i = 0; i < sheetCount; i++) {
+            if (results.get(i) == null) {
+                throw new IllegalStateException("답안지 " + (i + 1) + "의 결과가 없습니다.");
+            }
+        }
+        return results;
+    }
+
     private Map<String, String> parsePhonetics(String response) throws Exception {
         String text = extractTextFromResponse(response);
         if (text == null) return new HashMap<>();
@@ -471,19 +667,39 @@ public class GeminiService {
 
     // ========== Gemini API Call Methods ==========
 
-    private String getGeminiApiUrl() {
-        String apiKey = apiConfig.getGemini().getKey();
-        if (apiKey == null || apiKey.isEmpty()) {
-            throw new RuntimeException("Gemini API 키가 설정되지 않았습니다.");
+    private String callGemini(String prompt, GeminiDispatcher.Priority priority) {
+        String response = requestGemini(prompt, priority).block();
+        log.debug("Gemini response: {}", response);
+        return response;
+    }
+
+    private Mono<String> requestGemini(String prompt, GeminiDispatcher.Priority priority) {
+        return geminiClient.generateContent(textRequestBody(prompt), priority);
+    }
+
+    /**
+     * 응답 캐시를 쓰는 텍스트 호출 (같은 프롬프트면 같은 답이 기대되는 발음기호/채점만)
+     * 해석에 실패한 응답은 캐시에서 지워 다음 호출이 다시 요청하게 한다.
+     */
+    private <T> T callGeminiCached(String prompt, GeminiDispatcher.Priority priority,
+            ResponseParser<T> parser) throws Exception {
+        Map<String, Object> requestBody = textRequestBody(prompt);
+        String response = geminiClient.generateContentCached(requestBody, priority).block();
+        log.debug("Gemini response: {}", response);
+        try {
+            return parser.parse(response);
+        } catch (Exception e) {
+            geminiClient.evictCached(requestBody);
+            throw e;
         }
-        String model = apiConfig.getGemini().getModel();
-        String baseUrl = apiConfig.getGemini().getUrl();
-        return String.format("%s/%s:generateContent?key=%s", baseUrl, model, apiKey);
     }
 
-    private String callGemini(String prompt) {
-        String url = getGeminiApiUrl();
+    @FunctionalInterface
+    private interface ResponseParser<T> {
+        T parse(String response) throws Exception;
+    }
 
+    private Map<String, Object> textRequestBody(String prompt) {
         Map<String, Object> textPart = new HashMap<>();
         textPart.put("text", prompt);
 
@@ -492,24 +708,18 @@ public class GeminiService {
 
         Map<String, Object> requestBody = new HashMap<>();
         requestBody.put("contents", List.of(content));
+        return requestBody;
+    }
 
-        WebClient webClient = webClientBuilder.build();
-
-        String response = webClient.post()
-                .uri(url)
-                .contentType(MediaType.APPLICATION_JSON)
-                .bodyValue(requestBody)
-                .retrieve()
-                .bodyToMono(String.class)
-                .block();
-
-        log.debug("Gemini response: {}", response);
+    private String callGeminiWithImage(String prompt, String base64Image, String mimeType,
+            GeminiDispatcher.Priority priority) {
+        String response = requestGeminiWithImage(prompt, base64Image, mimeType, priority).block();
+        log.debug("Gemini Vision response: {}", response);
         return response;
     }
 
-    private String callGeminiWithImage(String prompt, String base64Image, String mimeType) {
-        String url = getGeminiApiUrl();
-
+    private Mono<String> requestGeminiWithImage(String prompt, String base64Image, String mimeType,
+            GeminiDispatcher.Priority priority) {
         Map<String, Object> textPart = new HashMap<>();
         textPart.put("text", prompt);
 
@@ -526,28 +736,11 @@ public class GeminiService {
         Map<String, Object> requestBody = new HashMap<>();
         requestBody.put("contents", List.of(content));
 
-        WebClient webClient = webClientBuilder.build();
-
-        String response = webClient.post()
-                .uri(url)
-                .contentType(MediaType.APPLICATION_JSON)
-                .bodyValue(requestBody)
-                .retrieve()
-                .onStatus(status -> status.is4xxClientError() || status.is5xxServerError(),
-                        clientResponse -> clientResponse.bodyToMono(String.class)
-                                .doOnNext(errorBody -> log.error("Gemini API error response: {}", errorBody))
-                                .flatMap(errorBody -> reactor.core.publisher.Mono.error(
-                                        new RuntimeException("Gemini API error: " + errorBody))))
-                .bodyToMono(String.class)
-                .block();
-
-        log.debug("Gemini Vision response: {}", response);
-        return response;
+        return geminiClient.generateContent(requestBody, priority);
     }
 
-    private String callGeminiWithMultipleImages(String prompt, List<Map<String, Object>> imageParts) {
-        String url = getGeminiApiUrl();
-
+    private Mono<String> requestGeminiWithMultipleImages(String prompt, List<Map<String, Object>> imageParts,
+            GeminiDispatcher.Priority priority) {
         Map<String, Object> textPart = new HashMap<>();
         textPart.put("text", prompt);
 
@@ -561,23 +754,7 @@ public class GeminiService {
         Map<String, Object> requestBody = new HashMap<>();
         requestBody.put("contents", List.of(content));
 
-        WebClient webClient = webClientBuilder.build();
-
-        String response = webClient.post()
-                .uri(url)
-                .contentType(MediaType.APPLICATION_JSON)
-                .bodyValue(requestBody)
-                .retrieve()
-                .onStatus(status -> status.is4xxClientError() || status.is5xxServerError(),
-                        clientResponse -> clientResponse.bodyToMono(String.class)
-                                .doOnNext(errorBody -> log.error("Gemini API error response: {}", errorBody))
-                                .flatMap(errorBody -> reactor.core.publisher.Mono.error(
-                                        new RuntimeException("Gemini API error: " + errorBody))))
-                .bodyToMono(String.class)
-                .block();
-
-        log.debug("Gemini Multi-Image response: {}", response);
-        return response;
+        return geminiClient.generateContent(requestBody, priority);
     }
 
     private String normalizeText(String text) {
@@ -603,8 +780,38 @@ public class GeminiService {
             String feedback) {
     }
 
+    /**
+     * 단어 추출 청크 진행 상황 (chunk: 청크 번호, completed: 지금까지 끝난 청크 수, error: 실패 시 사유)
+     */
+    public record ChunkProgress(
+            int chunk,
+            int totalChunks,
+            int completed,
+            int pages,
+            int words,
+            String error) {
+    }
+
+    private record ChunkResult(
+            int index,
+            List<String> words,
+            String error) {
+    }
+
     public record OcrResult(
             int questionNumber,
             String userAnswer) {
     }
+
+    public record SheetInput(
+            Path file,
+            String contentType,
+            int questionCount) {
+    }
+
+    public record OcrExtraction(
+            List<OcrResult> ocrResults,
+            AnswerSheetPreprocessor.Report preprocess,
+            long geminiMs) {
+    }
 }
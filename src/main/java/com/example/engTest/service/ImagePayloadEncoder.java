@@ -0,0 +1,120 @@
+package com.example.engTest.service;
+
+import com.example.engTest.utils.ImageCodec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.ImageIO;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+
+/**
+ * 업로드 이미지를 Gemini inlineData용 base64로 변환
+ * - recompress-threshold-bytes 이하: 원본 스트림을 그대로 base64 인코딩 (byte[] 사본 없음)
+ * - 그보다 크면: 서브샘플링으로 긴 변이 max-dimension 이하가 되게 디코딩한 뒤 JPEG(jpeg-quality)로 재압축
+ *   디코딩 중에도 축소된 래스터만 메모리에 올라가므로, 요청당 힙 사용량은 원본 크기가 아니라 max-dimension에 비례한다.
+ * ImageIO가 읽지 못하는 형식은 원본을 그대로 인코딩한다.
+ */
+@Slf4j
+@Component
+public class ImagePayloadEncoder {
+
+    private static final String JPEG = "image/jpeg";
+
+    private final int maxDimension;
+    private final float jpegQuality;
+    private final long recompressThresholdBytes;
+
+    public ImagePayloadEncoder(
+            @Value("${image-upload.max-dimension:2048}") int maxDimension,
+            @Value("${image-upload.jpeg-quality:0.85}") float jpegQuality,
+            @Value("${image-upload.recompress-threshold-bytes:1048576}") long recompressThresholdBytes) {
+        this.maxDimension = maxDimension;
+        this.jpegQuality = jpegQuality;
+        this.recompressThresholdBytes = recompressThresholdBytes;
+    }
+
+    /**
+     * 인코딩 결과
+     * recompressed가 true면 mimeType은 image/jpeg
+     */
+    public record EncodedImage(String mimeType, String base64, long originalBytes, boolean recompressed) {
+    }
+
+    public EncodedImage encode(MultipartFile file) throws IOException {
+        String mimeType = file.getContentType() != null ? file.getContentType() : JPEG;
+        long size = file.getSize();
+        if (size > recompressThresholdBytes) {
+            // ImageIO는 InputStream을 임시 파일로 캐시하며 읽는다 (전체를 힙에 올리지 않음)
+            try (InputStream in = file.getInputStream();
+                    ImageInputStream iis = ImageIO.createImageInputStream(in)) {
+                String base64 = recompress(iis);
+                if (base64 != null) {
+                    return new EncodedImage(JPEG, base64, size, true);
+                }
+            }
+        }
+        try (InputStream in = file.getInputStream()) {
+            return new EncodedImage(mimeType, streamBase64(in, size), size, false);
+        }
+    }
+
+    /**
+     * 디스크에 저장된 이미지 인코딩 (업로드를 먼저 저장한 경우, 멀티파트를 다시 읽지 않음)
+     */
+    public EncodedImage encode(Path file, String mimeType) throws IOException {
+        String type = mimeType != null ? mimeType : JPEG;
+        long size = Files.size(file);
+        if (size > recompressThresholdBytes) {
+            try (ImageInputStream iis = ImageIO.createImageInputStream(file.toFile())) {
+                String base64 = recompress(iis);
+                if (base64 != null) {
+                    return new EncodedImage(JPEG, base64, size, true);
+                }
+            }
+        }
+        try (InputStream in = Files.newInputStream(file)) {
+            return new EncodedImage(type, streamBase64(in, size), size, false);
+        }
+    }
+
+    // ========== Internal ==========
+
+    /**
+     * 축소 디코딩 + JPEG 재압축 결과(base64), 읽을 수 없는 형식이면 null
+     */
+    private String recompress(ImageInputStream iis) throws IOException {
+        ImageCodec.Decoded decoded;
+        try {
+            // 긴 변이 maxDimension 이하가 되는 최소 간격 (올림)
+            decoded = ImageCodec.decode(iis, longEdge -> (longEdge + maxDimension - 1) / maxDimension);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Image decode failed, sending original: {}", e.getMessage());
+            return null;
+        }
+        if (decoded == null) return null;
+
+        BufferedImage image = decoded.image();
+        log.debug("Image downscaled for upload: {}x{} -> {}x{}",
+                decoded.sourceWidth(), decoded.sourceHeight(), image.getWidth(), image.getHeight());
+        return ImageCodec.toJpegBase64(image, jpegQuality);
+    }
+
+    private String streamBase64(InputStream in, long size) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(size > 0 ? (int) (size * 4 / 3 + 4) : 8192);
+        try (OutputStream encoder = Base64.getEncoder().wrap(out)) {
+            in.transferTo(encoder);
+        }
+        return out.toString(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,220 @@
+package com.example.engTest.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 실시간 이벤트(SSE) 연결 레지스트리
+ * - 사용자별 이벤트(업적 달성)는 그 사용자의 연결에만, 회차 이벤트(참여자 상태, 순위)는 그 회차를 구독한 연결에만 보낸다.
+ * - 연결마다 buffer-size개까지만 쌓아 두고, 넘치면 그 연결을 닫는다 (클라이언트는 재연결 후 REST로 현재 상태를 다시 읽음).
+ * - 사용자당 연결은 max-connections-per-user개까지 (넘으면 가장 오래된 연결을 닫음)
+ * - 유휴 연결 유지를 위해 heartbeat-seconds마다 주석 이벤트를 보내고,
+ *   비동기 요청 타임아웃 전에 max-connection-seconds에서 스트림을 끝내 클라이언트가 재연결하게 한다.
+ * publish*는 바로 전송하므로 DB 변경에 대한 이벤트는 커밋 후에 호출한다.
+ */
+@Slf4j
+@Component
+public class LiveEventHub implements StatsProvider {
+
+    private final int bufferSize;
+    private final int maxConnectionsPerUser;
+    private final Duration heartbeat;
+    private final Duration maxConnection;
+
+    // 값은 불변 리스트로 교체(copy-on-write)하므로 발행 시 잠금 없이 순회
+    private final Map<Long, List<Connection>> byUser = new ConcurrentHashMap<>();
+    private final Map<Long, List<Connection>> byRound = new ConcurrentHashMap<>();
+    private final Set<Connection> connections = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong connectionSeq = new AtomicLong();
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong overflowClosed = new AtomicLong();
+
+    public LiveEventHub(
+            @Value("${live-events.buffer-size:64}") int bufferSize,
+            @Value("${live-events.max-connections-per-user:4}") int maxConnectionsPerUser,
+            @Value("${live-events.heartbeat-seconds:25}") long heartbeatSeconds,
+            @Value("${live-events.max-connection-seconds:170}") long maxConnectionSeconds) {
+        this.bufferSize = bufferSize;
+        this.maxConnectionsPerUser = maxConnectionsPerUser;
+        this.heartbeat = Duration.ofSeconds(heartbeatSeconds);
+        this.maxConnection = Duration.ofSeconds(maxConnectionSeconds);
+    }
+
+    /**
+     * 전송 이벤트 (SSE event 이름 = type, 회차 이벤트가 아니면 roundId는 null)
+     */
+    public record LiveEvent(String type, Long roundId, Object data) {
+    }
+
+    private final class Connection {
+        final long id = connectionSeq.incrementAndGet();
+        final Long userId;
+        final Set<Long> roundIds;
+        final Sinks.Many<ServerSentEvent<LiveEvent>> sink =
+                Sinks.many().unicast().onBackpressureBuffer(new ArrayBlockingQueue<>(bufferSize));
+        // close 시 완료되어 heartbeat도 끝내고 응답을 닫게 함 (interval은 스스로 끝나지 않음)
+        final Sinks.Empty<Void> closed = Sinks.empty();
+
+        Connection(Long userId, Set<Long> roundIds) {
+            this.userId = userId;
+            this.roundIds = roundIds;
+        }
+
+        /**
+         * 여러 스레드에서 발행하므로 연결 단위로 직렬화
+         */
+        synchronized boolean emit(ServerSentEvent<LiveEvent> event) {
+            Sinks.EmitResult result = sink.tryEmitNext(event);
+            if (result.isSuccess()) return true;
+            if (result == Sinks.EmitResult.FAIL_OVERFLOW) {
+                overflowClosed.incrementAndGet();
+                log.warn("Live event buffer full, closing connection {} (user {})", id, userId);
+                close();
+            }
+            unregister(this);
+            return false;
+        }
+
+        synchronized void close() {
+            sink.tryEmitComplete();
+            closed.tryEmitEmpty();
+        }
+    }
+
+    /**
+     * 연결 등록 (userId가 null이면 회차 이벤트만 받음)
+     */
+    public Flux<ServerSentEvent<LiveEvent>> connect(Long userId, Set<Long> roundIds) {
+        Connection connection = new Connection(userId, Set.copyOf(roundIds));
+        register(connection);
+
+        ServerSentEvent<LiveEvent> hello = ServerSentEvent.<LiveEvent>builder()
+                .event("connected")
+                .data(new LiveEvent("connected", null, Map.of("connectionId", connection.id, "rounds", connection.roundIds)))
+                .retry(Duration.ofSeconds(3))
+                .build();
+        Flux<ServerSentEvent<LiveEvent>> pings = Flux.interval(heartbeat)
+                .map(i -> ServerSentEvent.<LiveEvent>builder().comment("ping").build())
+                .takeUntilOther(connection.closed.asMono());
+
+        return Flux.merge(connection.sink.asFlux(), pings)
+                .startWith(hello)
+                .take(maxConnection)
+                .doFinally(signal -> unregister(connection));
+    }
+
+    public void publishToUser(Long userId, String type, Object data) {
+        List<Connection> targets = byUser.get(userId);
+        if (targets != null) {
+            send(targets, new LiveEvent(type, null, data));
+        }
+    }
+
+    public void publishToRound(Long roundId, String type, Object data) {
+        List<Connection> targets = byRound.get(roundId);
+        if (targets != null) {
+            send(targets, new LiveEvent(type, roundId, data));
+        }
+    }
+
+    /**
+     * 회차 구독자가 있는지 (없으면 전송할 데이터를 만들 필요 없음)
+     */
+    public boolean hasRoundSubscribers(Long roundId) {
+        return byRound.containsKey(roundId);
+    }
+
+    @Override
+    public String getStatsName() {
+        return "live-events";
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("connections", connections.size());
+        stats.put("users", byUser.size());
+        stats.put("rounds", byRound.size());
+        stats.put("published", published.get());
+        stats.put("delivered", delivered.get());
+        stats.put("overflowClosed", overflowClosed.get());
+        return stats;
+    }
+
+    // ========== Internal ==========
+
+    private void send(List<Connection> targets, LiveEvent event) {
+        published.incrementAndGet();
+        ServerSentEvent<LiveEvent> sse = ServerSentEvent.<LiveEvent>builder()
+                .event(event.type())
+                .data(event)
+                .build();
+        for (Connection connection : targets) {
+            if (connection.emit(sse)) {
+                delivered.incrementAndGet();
+            }
+        }
+    }
+
+    private void register(Connection connection) {
+        connections.add(connection);
+        if (connection.userId != null) {
+            Connection[] evicted = new Connection[1];
+            byUser.compute(connection.userId, (id, current) -> {
+                List<Connection> next = current == null ? new ArrayList<>() : new ArrayList<>(current);
+                next.add(connection);
+                if (next.size() > maxConnectionsPerUser) {
+                    evicted[0] = next.get(0);
+                }
+                return List.copyOf(next);
+            });
+            if (evicted[0] != null) {
+                // 탭을 많이 연 경우 가장 오래된 연결부터 정리
+                evicted[0].close();
+                unregister(evicted[0]);
+            }
+        }
+        for (Long roundId : connection.roundIds) {
+            byRound.compute(roundId, (id, current) -> {
+                List<Connection> next = current == null ? new ArrayList<>() : new ArrayList<>(current);
+                next.add(connection);
+                return List.copyOf(next);
+            });
+        }
+    }
+
+    private void unregister(Connection connection) {
+        if (!connections.remove(connection)) return;
+        if (connection.userId != null) {
+            byUser.computeIfPresent(connection.userId, (id, current) -> without(current, connection));
+        }
+        for (Long roundId : connection.roundIds) {
+            byRound.computeIfPresent(roundId, (id, current) -> without(current, connection));
+        }
+    }
+
+    /**
+     * connection을 뺀 불변 리스트 (비면 null → 맵에서 제거)
+     */
+    private static List<Connection> without(List<Connection> current, Connection connection) {
+        List<Connection> next = new ArrayList<>(current);
+        next.remove(connection);
+        return next.isEmpty() ? null : List.copyOf(next);
+    }
+}
@@ -4,11 +4,13 @@ import com.example.engTest.dto.LogSetting;
 import com.example.engTest.mapper.LogSettingMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -17,6 +19,9 @@ public class LogSettingService {
 
     private final LogSettingMapper logSettingMapper;
 
+    // 전체 설정의 메모리 스냅샷 (수정 시 통째로 교체, 로깅 경로에서는 DB 조회 없음)
+    private volatile Map<String, String> snapshot;
+
     /**
      * 모든 설정 조회
      */
@@ -28,16 +33,14 @@ public class LogSettingService {
      * 모든 설정을 Map 형태로 조회
      */
     public Map<String, String> getAllSettingsAsMap() {
-        return logSettingMapper.findAll().stream()
-                .collect(Collectors.toMap(LogSetting::getSettingKey, LogSetting::getSettingValue));
+        return new HashMap<>(current());
     }
 
     /**
      * 특정 설정 조회
      */
     public String getSetting(String key) {
-        LogSetting setting = logSettingMapper.findByKey(key);
-        return setting != null ? setting.getSettingValue() : null;
+        return current().get(key);
     }
 
     /**
@@ -45,6 +48,7 @@ public class LogSettingService {
      */
     public void updateSetting(String key, String value) {
         logSettingMapper.update(key, value);
+        refresh();
         log.info("Log setting updated: {} = {}", key, value);
     }
 
@@ -55,6 +59,7 @@ public class LogSettingService {
         for (Map.Entry<String, String> entry : settings.entrySet()) {
             logSettingMapper.update(entry.getKey(), entry.getValue());
         }
+        refresh();
         log.info("Log settings updated: {}", settings.keySet());
     }
 
@@ -84,4 +89,40 @@ public class LogSettingService {
     public boolean isAutoDeleteEnabled() {
         return isEnabled("auto_delete_enabled");
     }
+
+    /**
+     * DB에서 전체 설정을 다시 읽어 스냅샷 교체
+     */
+    public synchronized void refresh() {
+        Map<String, String> loaded = new HashMap<>();
+        for (LogSetting setting : logSettingMapper.findAll()) {
+            loaded.put(setting.getSettingKey(), setting.getSettingValue());
+        }
+        snapshot = Collections.unmodifiableMap(loaded);
+    }
+
+    /**
+     * DB 직접 수정 등 API 밖의 변경을 반영하기 위한 주기적 재동기화
+     */
+    @Scheduled(fixedDelayString = "${log-settings.resync-ms:60000}", initialDelayString = "${log-settings.resync-ms:60000}")
+    public void resync() {
+        try {
+            refresh();
+        } catch (Exception e) {
+            log.warn("Log settings resync failed: {}", e.getMessage());
+        }
+    }
+
+    private Map<String, String> current() {
+        Map<String, String> s = snapshot;
+        if (s == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    refresh();
+                }
+                s = snapshot;
+            }
+        }
+        return s;
+    }
 }
@@ -0,0 +1,356 @@
+package com.example.engTest.service;
+
+import com.example.engTest.dto.Exam;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * 오프라인 답안지 일괄 채점 작업
+ * 답안지 N장을 시험 N개에 대응시켜 업로드하면, 파일을 임시 디렉터리에 저장한 뒤 요청을 바로 반환하고
+ * 백그라운드에서 최대 parallelism장씩 OCR(extractAnswersFromImageAsync) → 채점(gradeOfflineAnswers)을 진행한다.
+ * OCR 실패는 max-retries회까지 지수 백오프(backoff-ms부터)로 재시도한다.
+ * sheets-per-request가 2 이상이면 답안지를 그 수만큼 묶어 요청 한 번으로 OCR하고, 묶음 요청이 실패하면 한 장씩 다시 처리한다.
+ * 진행 상황은 getJob()으로 조회하거나 events()로 받는다. 끝난 작업은 retention-minutes 후 정리한다.
+ */
+@Slf4j
+@Service
+public class OfflineGradingJobService implements StatsProvider {
+
+    public static final String PENDING = "PENDING";
+    public static final String RUNNING = "RUNNING";
+    public static final String OCR = "OCR";
+    public static final String GRADING = "GRADING";
+    public static final String DONE = "DONE";
+    public static final String FAILED = "FAILED";
+    public static final String COMPLETED = "COMPLETED";
+
+    private final GeminiService geminiService;
+    private final ExamService examService;
+    private final QuestionService questionService;
+    private final int parallelism;
+    private final int maxRetries;
+    private final long backoffMs;
+    private final int maxSheets;
+    private final long retentionMs;
+    private final int sheetsPerRequest;
+
+    private final AtomicLong batchRequests = new AtomicLong();
+    private final AtomicLong batchFallbacks = new AtomicLong();
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    /**
+     * 답안지 1장의 상태
+     */
+    public record ItemStatus(int index, Long examId, String fileName, String status, int attempts,
+            Integer correctCount, Integer totalCount, String error) {
+    }
+
+    /**
+     * 작업 상태 스냅샷
+     */
+    public record JobStatus(String jobId, String status, int total, int done, int failed,
+            LocalDateTime createdAt, LocalDateTime finishedAt, List<ItemStatus> items) {
+    }
+
+    public OfflineGradingJobService(GeminiService geminiService, ExamService examService,
+            QuestionService questionService,
+            @Value("${offline-batch.parallelism:3}") int parallelism,
+            @Value("${offline-batch.max-retries:2}") int maxRetries,
+            @Value("${offline-batch.backoff-ms:2000}") long backoffMs,
+            @Value("${offline-batch.max-sheets:60}") int maxSheets,
+            @Value("${offline-batch.retention-minutes:60}") long retentionMinutes,
+            @Value("${offline-batch.sheets-per-request:1}") int sheetsPerRequest) {
+        this.geminiService = geminiService;
+        this.examService = examService;
+        this.questionService = questionService;
+        this.parallelism = Math.max(1, parallelism);
+        this.maxRetries = Math.max(0, maxRetries);
+        this.backoffMs = backoffMs;
+        this.maxSheets = maxSheets;
+        this.retentionMs = retentionMinutes * 60_000L;
+        this.sheetsPerRequest = Math.max(1, sheetsPerRequest);
+    }
+
+    /**
+     * 일괄 채점 시작 (업로드 파일은 이 메서드 안에서 디스크로 옮기고, 채점은 백그라운드에서 진행)
+     */
+    public JobStatus submit(List<MultipartFile> answerSheets, List<Long> examIds) throws IOException {
+        if (answerSheets == null || answerSheets.isEmpty()) {
+            throw new IllegalArgumentException("답안지가 없습니다.");
+        }
+        if (examIds == null || examIds.size() != answerSheets.size()) {
+            throw new IllegalArgumentException("답안지 수와 시험 ID 수가 일치하지 않습니다.");
+        }
+        if (answerSheets.size() > maxSheets) {
+            throw new IllegalArgumentException("한 번에 최대 " + maxSheets + "장까지 처리할 수 있습니다.");
+        }
+        List<Long> missing = examIds.stream().filter(id -> examService.getExamById(id) == null).toList();
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("존재하지 않는 시험입니다: " + missing);
+        }
+
+        String jobId = UUID.randomUUID().toString();
+        Path dir = Files.createTempDirectory("offline-batch-");
+        Job job = new Job(jobId);
+        try {
+            for (int i = 0; i < answerSheets.size(); i++) {
+                MultipartFile sheet = answerSheets.get(i);
+                Path file = dir.resolve(i + ".img");
+                try (InputStream in = sheet.getInputStream()) {
+                    Files.copy(in, file);
+                }
+                job.items.add(new Item(i, examIds.get(i), sheet.getOriginalFilename(), sheet.getContentType(), file));
+            }
+        } catch (IOException e) {
+            deleteQuietly(dir);
+            throw e;
+        }
+
+        jobs.put(jobId, job);
+        job.publish();
+        log.info("Offline grading job {} started: {} sheets, parallelism {}, {} sheets per request",
+                jobId, job.items.size(), parallelism, sheetsPerRequest);
+
+        Flux.fromIterable(job.items)
+                .buffer(sheetsPerRequest)
+                .flatMap(group -> processGroup(job, group), parallelism)
+                .doFinally(signal -> {
+                    job.finish();
+                    deleteQuietly(dir);
+                    log.info("Offline grading job {} finished: {}", jobId, job.snapshot().status());
+                })
+                .subscribe();
+
+        return job.snapshot();
+    }
+
+    @Override
+    public String getStatsName() {
+        return "offline-batch";
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("jobs", jobs.size());
+        stats.put("running", jobs.values().stream().filter(job -> job.finishedAtMs == 0).count());
+        stats.put("sheetsPerRequest", sheetsPerRequest);
+        stats.put("batchRequests", batchRequests.get());
+        stats.put("batchFallbacks", batchFallbacks.get());
+        return stats;
+    }
+
+    public JobStatus getJob(String jobId) {
+        Job job = jobs.get(jobId);
+        return job != null ? job.snapshot() : null;
+    }
+
+    /**
+     * 상태가 바뀔 때마다 스냅샷을 보내고, 작업이 끝나면 완료되는 스트림 (구독 시 최신 상태부터)
+     */
+    public Flux<JobStatus> events(String jobId) {
+        Job job = jobs.get(jobId);
+        return job != null ? job.sink.asFlux() : Flux.empty();
+    }
+
+    /**
+     * 보관 기간이 지난 완료 작업 정리
+     */
+    @Scheduled(fixedDelayString = "${offline-batch.cleanup-ms:300000}")
+    public void cleanup() {
+        long now = System.currentTimeMillis();
+        jobs.values().removeIf(job -> job.finishedAtMs > 0 && now - job.finishedAtMs > retentionMs);
+    }
+
+    // ========== Internal ==========
+
+    /**
+     * 답안지 묶음 처리: 2장 이상이면 한 요청으로 OCR, OCR 요청이 실패했을 때만 한 장씩 다시 처리
+     * 채점은 OCR 결과를 받은 뒤 답안지마다 따로 하고, 채점 실패는 재시도 없이 그 답안지만 FAILED로 둔다.
+     */
+    private Mono<Void> processGroup(Job job, List<Item> group) {
+        if (group.size() == 1) {
+            return process(job, group.get(0));
+        }
+        return Mono.defer(() -> {
+                    List<AnswerKey> answerKeys = new ArrayList<>();
+                    List<GeminiService.SheetInput> sheets = new ArrayList<>();
+                    for (Item item : group) {
+                        AnswerKey answerKey = answerKeyOf(item);
+                        answerKeys.add(answerKey);
+                        sheets.add(new GeminiService.SheetInput(item.file, item.contentType, answerKey.size()));
+                        item.attempts++;
+                        job.update(item, OCR, null);
+                    }
+                    return geminiService.extractAnswersFromImagesBatch(sheets)
+                            .map(results -> Map.entry(answerKeys, results));
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .onErrorResume(e -> {
+                    batchFallbacks.incrementAndGet();
+                    log.warn("Offline grading job {} batch of {} sheets failed, falling back to single sheets: {}",
+                            job.id, group.size(), e.getMessage());
+                    return Flux.fromIterable(group)
+                            .concatMap(item -> process(job, item))
+                            .then(Mono.empty());
+                })
+                .publishOn(Schedulers.boundedElastic())
+                .doOnNext(batch -> {
+                    batchRequests.incrementAndGet();
+                    for (int i = 0; i < group.size(); i++) {
+                        Item item = group.get(i);
+                        try {
+                            grade(job, item, batch.getKey().get(i), batch.getValue().get(i));
+                        } catch (Exception e) {
+                            log.error("Offline grading job {} sheet {} (exam {}) failed", job.id, item.index, item.examId, e);
+                            job.update(item, FAILED, e.getMessage());
+                        }
+                    }
+                })
+                .then();
+    }
+
+    private Mono<Void> process(Job job, Item item) {
+        return Mono.defer(() -> {
+                    AnswerKey answerKey = answerKeyOf(item);
+                    job.update(item, OCR, null);
+                    item.attempts++;
+                    return geminiService.extractAnswersFromImageAsync(item.file, item.contentType, answerKey.size())
+                            .map(extraction -> Map.entry(answerKey, extraction.ocrResults()));
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .retryWhen(Retry.backoff(maxRetries, Duration.ofMillis(backoffMs))
+                        .doBeforeRetry(signal -> log.warn("Offline grading job {} sheet {} retry {}: {}",
+                                job.id, item.index, signal.totalRetries() + 1, signal.failure().getMessage())))
+                .publishOn(Schedulers.boundedElastic())
+                .doOnNext(result -> grade(job, item, result.getKey(), result.getValue()))
+                .onErrorResume(e -> {
+                    // Retry.backoff는 재시도 소진 시 마지막 예외를 감싸서 던짐
+                    Throwable cause = Exceptions.isRetryExhausted(e) && e.getCause() != null ? e.getCause() : e;
+                    log.error("Offline grading job {} sheet {} (exam {}) failed", job.id, item.index, item.examId, cause);
+                    job.update(item, FAILED, cause.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private void grade(Job job, Item item, AnswerKey answerKey, List<GeminiService.OcrResult> ocrResults) {
+        job.update(item, GRADING, null);
+        List<ExamService.OfflineAnswerInput> inputs = ocrResults.stream()
+                .map(r -> new ExamService.OfflineAnswerInput(r.questionNumber(), r.userAnswer()))
+                .toList();
+        Exam exam = examService.gradeOfflineAnswers(item.examId, inputs, answerKey);
+        item.correctCount = exam.getCorrectCount();
+        item.totalCount = answerKey.size();
+        job.update(item, DONE, null);
+    }
+
+    private AnswerKey answerKeyOf(Item item) {
+        return questionService.getAnswerKey(examService.getExamById(item.examId).getRoundId());
+    }
+
+    private static void deleteQuietly(Path dir) {
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.deleteIfExists(file);
+            }
+            Files.deleteIfExists(dir);
+        } catch (IOException e) {
+            log.warn("Failed to delete offline batch files in {}: {}", dir, e.getMessage());
+        }
+    }
+
+    private static final class Item {
+        final int index;
+        final Long examId;
+        final String fileName;
+        final String contentType;
+        final Path file;
+        volatile String status = PENDING;
+        volatile int attempts;
+        volatile Integer correctCount;
+        volatile Integer totalCount;
+        volatile String error;
+
+        Item(int index, Long examId, String fileName, String contentType, Path file) {
+            this.index = index;
+            this.examId = examId;
+            this.fileName = fileName;
+            this.contentType = contentType;
+            this.file = file;
+        }
+
+        ItemStatus snapshot() {
+            return new ItemStatus(index, examId, fileName, status, attempts, correctCount, totalCount, error);
+        }
+    }
+
+    private static final class Job {
+        final String id;
+        final LocalDateTime createdAt = LocalDateTime.now();
+        final List<Item> items = Collections.synchronizedList(new ArrayList<>());
+        final Sinks.Many<JobStatus> sink = Sinks.many().replay().latest();
+        volatile LocalDateTime finishedAt;
+        volatile long finishedAtMs;
+
+        Job(String id) {
+            this.id = id;
+        }
+
+        void update(Item item, String status, String error) {
+            item.status = status;
+            item.error = error;
+            publish();
+        }
+
+        void finish() {
+            finishedAt = LocalDateTime.now();
+            finishedAtMs = System.currentTimeMillis();
+            publish();
+            synchronized (this) {
+                sink.tryEmitComplete();
+            }
+        }
+
+        synchronized void publish() {
+            sink.tryEmitNext(snapshot());
+        }
+
+        JobStatus snapshot() {
+            List<ItemStatus> list;
+            synchronized (items) {
+                list = items.stream().map(Item::snapshot).toList();
+            }
+            int done = (int) list.stream().filter(i -> DONE.equals(i.status())).count();
+            int failed = (int) list.stream().filter(i -> FAILED.equals(i.status())).count();
+            String status = finishedAt != null ? COMPLETED : RUNNING;
+            return new JobStatus(id, status, list.size(), done, failed, createdAt, finishedAt, list);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.engTest.service;
+
+import com.example.engTest.dto.PhoneticEntry;
+import com.example.engTest.mapper.PhoneticDictionaryMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 발음기호 사전 (phonetic_dictionary + 메모리 맵)
+ * 사전에 있는 단어는 메모리에서 바로 돌려주고, 없는 단어만 중복 제거 후 batch-size개씩 Gemini에 요청해 사전에 추가한다.
+ * 키는 소문자/trim한 단어. 사전은 처음 사용할 때 한 번 전체를 읽는다.
+ */
+@Slf4j
+@Service
+public class PhoneticDictionaryService implements StatsProvider {
+
+    public static final String SOURCE_GEMINI = "GEMINI";
+    public static final String SOURCE_USER = "USER";
+
+    private final PhoneticDictionaryMapper phoneticDictionaryMapper;
+    private final GeminiService geminiService;
+    private final int batchSize;
+
+    private volatile Map<String, String> dictionary;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong generated = new AtomicLong();
+    private final AtomicLong unresolved = new AtomicLong();
+
+    public PhoneticDictionaryService(PhoneticDictionaryMapper phoneticDictionaryMapper, GeminiService geminiService,
+            @Value("${phonetics.batch-size:100}") int batchSize) {
+        this.phoneticDictionaryMapper = phoneticDictionaryMapper;
+        this.geminiService = geminiService;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * 단어 목록의 발음기호 조회 (원래 표기를 키로 반환, 끝내 못 찾은 단어는 빠짐)
+     * Gemini 호출이 실패하면 사전에 있는 단어만 채워서 반환한다.
+     */
+    public Map<String, String> resolve(Collection<String> words) {
+        Map<String, String> result = new HashMap<>();
+        if (words == null || words.isEmpty()) {
+            return result;
+        }
+
+        Map<String, String> dict = dictionary();
+        Set<String> unknown = new LinkedHashSet<>();
+        for (String word : words) {
+            String key = normalize(word);
+            if (key.isEmpty()) continue;
+            String phonetic = dict.get(key);
+            if (phonetic != null) {
+                result.put(word, phonetic);
+                hits.incrementAndGet();
+            } else {
+                unknown.add(key);
+            }
+        }
+
+        if (!unknown.isEmpty()) {
+            Map<String, String> fetched = fetchFromGemini(new ArrayList<>(unknown));
+            for (String word : words) {
+                String phonetic = fetched.get(normalize(word));
+                if (phonetic != null) {
+                    result.put(word, phonetic);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 사용자가 직접 입력한 발음기호를 사전에 반영 (기존 값 덮어씀)
+     */
+    public void learn(Map<String, String> userPhonetics) {
+        Map<String, PhoneticEntry> entries = new LinkedHashMap<>();
+        userPhonetics.forEach((word, phonetic) -> {
+            String key = normalize(word);
+            if (!key.isEmpty() && phonetic != null && !phonetic.isBlank()) {
+                entries.put(key, PhoneticEntry.builder()
+                        .word(key)
+                        .phonetic(phonetic.trim())
+                        .source(SOURCE_USER)
+                        .build());
+            }
+        });
+        if (entries.isEmpty()) return;
+
+        phoneticDictionaryMapper.upsertBatch(new ArrayList<>(entries.values()));
+        Map<String, String> dict = dictionary();
+        entries.values().forEach(e -> dict.put(e.getWord(), e.getPhonetic()));
+    }
+
+    @Override
+    public String getStatsName() {
+        return "phonetics";
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("entries", dictionary().size());
+        stats.put("hits", hits.get());
+        stats.put("generated", generated.get());
+        stats.put("unresolved", unresolved.get());
+        return stats;
+    }
+
+    // ========== Internal ==========
+
+    private Map<String, String> fetchFromGemini(List<String> unknown) {
+        Map<String, String> fetched = new HashMap<>();
+        for (int from = 0; from < unknown.size(); from += batchSize) {
+            List<String> batch = unknown.subList(from, Math.min(from + batchSize, unknown.size()));
+            Map<String, String> response;
+            try {
+                response = geminiService.generatePhonetics(batch);
+            } catch (Exception e) {
+                // 발음기호가 없어도 단어 저장은 진행되도록 남은 배치는 건너뜀
+                log.warn("Failed to generate phonetics for {} words: {}", unknown.size() - from, e.getMessage());
+                break;
+            }
+
+            List<PhoneticEntry> entries = new ArrayList<>();
+            response.forEach((word, phonetic) -> {
+                String key = normalize(word);
+                if (!key.isEmpty() && phonetic != null && !phonetic.isBlank() && !fetched.containsKey(key)) {
+                    fetched.put(key, phonetic.trim());
+                    entries.add(PhoneticEntry.builder()
+                            .word(key)
+                            .phonetic(phonetic.trim())
+                            .source(SOURCE_GEMINI)
+                            .build());
+                }
+            });
+            if (!entries.isEmpty()) {
+                phoneticDictionaryMapper.insertIgnoreBatch(entries);
+                Map<String, String> dict = dictionary();
+                entries.forEach(e -> dict.putIfAbsent(e.getWord(), e.getPhonetic()));
+            }
+            generated.addAndGet(entries.size());
+        }
+        unresolved.addAndGet(unknown.stream().filter(w -> !fetched.containsKey(w)).count());
+        log.debug("Phonetics: {} unknown words sent to Gemini, {} resolved", unknown.size(), fetched.size());
+        return fetched;
+    }
+
+    private Map<String, String> dictionary() {
+        Map<String, String> dict = dictionary;
+        if (dict == null) {
+            synchronized (this) {
+                dict = dictionary;
+                if (dict == null) {
+                    dict = new ConcurrentHashMap<>();
+                    for (PhoneticEntry entry : phoneticDictionaryMapper.findAll()) {
+                        dict.put(entry.getWord(), entry.getPhonetic());
+                    }
+                    log.info("Phonetic dictionary loaded: {} words", dict.size());
+                    dictionary = dict;
+                }
+            }
+        }
+        return dict;
+    }
+
+    private static String normalize(String word) {
+        return word == null ? "" : word.trim().toLowerCase(Locale.ROOT);
+    }
+}
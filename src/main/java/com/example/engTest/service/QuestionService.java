@@ -5,8 +5,12 @@ import com.example.engTest.mapper.QuestionMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 @RequiredArgsConstructor
@@ -14,6 +18,11 @@ public class QuestionService {
 
     private final QuestionMapper questionMapper;
 
+    // 회차별 정답표 캐시 (문제 변경 시 해당 회차만 폐기)
+    private final Map<Long, AnswerKey> answerKeys = new ConcurrentHashMap<>();
+    // 문제 ID → 회차 ID (정답표가 만들어질 때 채워짐)
+    private final Map<Long, Long> questionRounds = new ConcurrentHashMap<>();
+
     public List<Question> getQuestionsByRoundId(Long roundId) {
         return questionMapper.findByRoundId(roundId);
     }
@@ -22,9 +31,36 @@ public class QuestionService {
         return questionMapper.findById(id);
     }
 
+    /**
+     * 회차 정답표 조회 (없으면 문제 목록을 한 번 읽어 생성)
+     */
+    public AnswerKey getAnswerKey(Long roundId) {
+        return answerKeys.computeIfAbsent(roundId, id -> {
+            AnswerKey key = new AnswerKey(id, questionMapper.findByRoundId(id));
+            for (Question q : key.questions()) {
+                questionRounds.put(q.getId(), id);
+            }
+            return key;
+        });
+    }
+
+    /**
+     * 문제 ID로 정답 정보 조회 (처음 보는 문제면 회차 확인을 위해 한 번 조회)
+     */
+    public AnswerKey.Entry getAnswerEntry(Long questionId) {
+        Long roundId = questionRounds.get(questionId);
+        if (roundId == null) {
+            Question question = questionMapper.findById(questionId);
+            if (question == null) return null;
+            roundId = question.getRoundId();
+        }
+        return getAnswerKey(roundId).byQuestionId(questionId);
+    }
+
     @Transactional
     public Question createQuestion(Question question) {
         questionMapper.insert(question);
+        invalidateAnswerKey(question.getRoundId());
         return question;
     }
 
@@ -32,12 +68,33 @@ public class QuestionService {
     public void createQuestions(List<Question> questions) {
         if (questions != null && !questions.isEmpty()) {
             questionMapper.insertBatch(questions);
+            questions.stream().map(Question::getRoundId).distinct().forEach(this::invalidateAnswerKey);
+        }
+    }
+
+    @Transactional
+    public Question updateQuestion(Question question) {
+        Question existing = questionMapper.findById(question.getId());
+        questionMapper.update(question);
+        if (existing != null) {
+            invalidateAnswerKey(existing.getRoundId());
+        }
+        return questionMapper.findById(question.getId());
+    }
+
+    @Transactional
+    public void deleteQuestion(Long id) {
+        Question existing = questionMapper.findById(id);
+        questionMapper.delete(id);
+        if (existing != null) {
+            invalidateAnswerKey(existing.getRoundId());
         }
     }
 
     @Transactional
     public void deleteQuestionsByRoundId(Long roundId) {
         questionMapper.deleteByRoundId(roundId);
+        invalidateAnswerKey(roundId);
     }
 
     public List<Question> getQuestionsByRoundIds(List<Long> roundIds) {
@@ -47,5 +104,31 @@ public class QuestionService {
     @Transactional
     public void deleteReviewQuestionsByRoundId(Long roundId) {
         questionMapper.deleteReviewByRoundId(roundId);
+        invalidateAnswerKey(roundId);
+    }
+
+    /**
+     * 정답표 폐기 (트랜잭션 중이면 커밋 직후에도 한 번 더 폐기해, 커밋 전 상태로 다시 만들어진 정답표가 남지 않게 함)
+     */
+    private void invalidateAnswerKey(Long roundId) {
+        if (roundId == null) return;
+        evictAnswerKey(roundId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictAnswerKey(roundId);
+                }
+            });
+        }
+    }
+
+    private void evictAnswerKey(Long roundId) {
+        AnswerKey removed = answerKeys.remove(roundId);
+        if (removed != null) {
+            for (Question q : removed.questions()) {
+                questionRounds.remove(q.getId(), roundId);
+            }
+        }
     }
 }
@@ -0,0 +1,329 @@
+package com.example.engTest.service;
+
+import com.example.engTest.dto.Exam;
+import com.example.engTest.mapper.ExamMapper;
+import com.example.engTest.utils.OrderStatisticTree;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 회차별 실시간 순위표 (메모리)
+ * - 회차마다 (정답 수 내림차순, 제출 시각 오름차순) 정렬 트리를 유지해 순위/상위 K개를 O(log n)에 조회
+ * - 순위는 SQL RANK()와 같음: 정답 수와 제출 시각이 모두 같으면 같은 순위
+ * - 첫 조회 때 완료 시험 전체를 한 번 적재하고, 이후에는 시험 제출/재채점/삭제가 커밋된 뒤 증분 반영
+ * - 반영 후 그 회차를 구독 중인 실시간 연결이 있으면 상위 ranking-size개를 "ranking" 이벤트로 보낸다.
+ */
+@Slf4j
+@Service
+public class RoundLeaderboardService implements StatsProvider {
+
+    private final ExamMapper examMapper;
+    private final LiveEventHub liveEventHub;
+    private final int rankingSize;
+
+    public RoundLeaderboardService(
+            ExamMapper examMapper,
+            LiveEventHub liveEventHub,
+            @Value("${live-events.ranking-size:10}") int rankingSize) {
+        this.examMapper = examMapper;
+        this.liveEventHub = liveEventHub;
+        this.rankingSize = rankingSize;
+    }
+
+    private static final Comparator<Entry> ORDER = Comparator
+            .comparingInt(Entry::correctCount).reversed()
+            .thenComparing(Entry::submittedAt, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparingLong(Entry::examId);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // 아래 상태는 lock으로 보호
+    private final Map<Long, Board> boards = new HashMap<>();
+    // userId -> 완료 시험이 있는 회차 (회차 오름차순)
+    private final Map<Long, Set<Long>> userRounds = new HashMap<>();
+    private boolean loaded;
+
+    // 순위가 바뀔 때마다 증가 (업적 스냅샷의 순위 재조회 판단용)
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * 순위표 항목 (exam은 응답용, 이름/회차명 포함)
+     */
+    private record Entry(long examId, long userId, int correctCount, LocalDateTime submittedAt, Exam exam) {
+
+        /**
+         * submitted_at은 초 단위 TIMESTAMP이므로 DB에서 다시 적재한 값과 같도록 초 미만을 버림
+         */
+        static Entry of(Exam exam) {
+            LocalDateTime submittedAt = exam.getSubmittedAt() != null
+                    ? exam.getSubmittedAt().truncatedTo(ChronoUnit.SECONDS) : null;
+            return new Entry(exam.getId(), exam.getUserId(),
+                    exam.getCorrectCount() != null ? exam.getCorrectCount() : 0, submittedAt, exam);
+        }
+
+        /**
+         * 같은 점수/제출 시각 중 가장 앞에 오는 탐색용 키 (앞선 항목 수 + 1 = 순위)
+         */
+        Entry rankProbe() {
+            return new Entry(Long.MIN_VALUE, userId, correctCount, submittedAt, null);
+        }
+    }
+
+    private static final class Board {
+        final OrderStatisticTree<Entry> tree = new OrderStatisticTree<>(ORDER);
+        final Map<Long, Entry> byExam = new HashMap<>();
+        final Map<Long, List<Entry>> byUser = new HashMap<>();
+    }
+
+    /**
+     * 사용자의 한 회차 순위 결과
+     */
+    public record UserRank(Long roundId, Long userId, Integer rank, int participants) {
+    }
+
+    // ========== 조회 ==========
+
+    /**
+     * 회차 상위 limit개 (null이면 전체), 순위 순
+     */
+    public List<Exam> getTop(Long roundId, Integer limit) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            Board board = boards.get(roundId);
+            if (board == null) return List.of();
+            int k = limit != null ? Math.max(0, limit) : board.tree.size();
+            List<Exam> result = new ArrayList<>(Math.min(k, board.tree.size()));
+            for (Entry entry : board.tree.head(k)) {
+                result.add(entry.exam());
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 사용자의 회차 순위 (완료 시험이 없으면 rank null)
+     */
+    public UserRank getUserRank(Long roundId, Long userId) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            Board board = boards.get(roundId);
+            if (board == null) return new UserRank(roundId, userId, null, 0);
+            Integer best = null;
+            for (Entry entry : board.byUser.getOrDefault(userId, List.of())) {
+                int rank = rankOf(board, entry);
+                if (best == null || rank < best) best = rank;
+            }
+            return new UserRank(roundId, userId, best, board.tree.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 사용자의 완료 시험별 순위 (회차 오름차순, COMPETITION 업적용)
+     */
+    public List<Integer> getUserRanks(Long userId) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            List<Integer> ranks = new ArrayList<>();
+            for (Long roundId : userRounds.getOrDefault(userId, Set.of())) {
+                Board board = boards.get(roundId);
+                for (Entry entry : board.byUser.getOrDefault(userId, List.of())) {
+                    ranks.add(rankOf(board, entry));
+                }
+            }
+            return ranks;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    @Override
+    public String getStatsName() {
+        return "leaderboards";
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        lock.readLock().lock();
+        try {
+            stats.put("loaded", loaded);
+            stats.put("rounds", boards.size());
+            stats.put("entries", boards.values().stream().mapToInt(b -> b.tree.size()).sum());
+        } finally {
+            lock.readLock().unlock();
+        }
+        stats.put("version", version.get());
+        return stats;
+    }
+
+    // ========== 변경 (커밋 후 반영) ==========
+
+    /**
+     * 완료/재채점된 시험 반영 (같은 시험이 있으면 교체)
+     */
+    public void onExamChanged(Exam exam) {
+        if (exam == null || !"COMPLETED".equals(exam.getStatus())) return;
+        afterCommit(exam.getRoundId(), () -> {
+            Entry entry = Entry.of(exam);
+            Board board = boards.computeIfAbsent(exam.getRoundId(), id -> new Board());
+            removeEntry(exam.getRoundId(), board, board.byExam.get(entry.examId()));
+            board.tree.add(entry);
+            board.byExam.put(entry.examId(), entry);
+            board.byUser.computeIfAbsent(entry.userId(), id -> new ArrayList<>()).add(entry);
+            userRounds.computeIfAbsent(entry.userId(), id -> new TreeSet<>()).add(exam.getRoundId());
+        });
+    }
+
+    public void onExamDeleted(Long roundId, Long examId) {
+        afterCommit(roundId, () -> {
+            Board board = boards.get(roundId);
+            if (board != null) {
+                removeEntry(roundId, board, board.byExam.get(examId));
+            }
+        });
+    }
+
+    /**
+     * 회차 순위표를 DB에서 다시 적재 (회차 시험 일괄 삭제, 회차명 변경 등)
+     */
+    public void reloadRound(Long roundId) {
+        afterCommit(roundId, () -> {
+            Board old = boards.remove(roundId);
+            if (old != null) {
+                for (Long userId : old.byUser.keySet()) {
+                    Set<Long> rounds = userRounds.get(userId);
+                    if (rounds != null) rounds.remove(roundId);
+                }
+            }
+            for (Exam exam : examMapper.getRankingByRound(roundId)) {
+                addLoaded(exam);
+            }
+        });
+    }
+
+    // ========== Internal ==========
+
+    private int rankOf(Board board, Entry entry) {
+        return board.tree.countLessThan(entry.rankProbe()) + 1;
+    }
+
+    private void removeEntry(Long roundId, Board board, Entry entry) {
+        if (entry == null) return;
+        board.tree.remove(entry);
+        board.byExam.remove(entry.examId());
+        List<Entry> userEntries = board.byUser.get(entry.userId());
+        if (userEntries != null) {
+            userEntries.removeIf(e -> e.examId() == entry.examId());
+            if (userEntries.isEmpty()) {
+                board.byUser.remove(entry.userId());
+                Set<Long> rounds = userRounds.get(entry.userId());
+                if (rounds != null) rounds.remove(roundId);
+            }
+        }
+    }
+
+    private void addLoaded(Exam exam) {
+        Entry entry = Entry.of(exam);
+        Board board = boards.computeIfAbsent(exam.getRoundId(), id -> new Board());
+        if (board.tree.add(entry)) {
+            board.byExam.put(entry.examId(), entry);
+            board.byUser.computeIfAbsent(entry.userId(), id -> new ArrayList<>()).add(entry);
+            userRounds.computeIfAbsent(entry.userId(), id -> new TreeSet<>()).add(exam.getRoundId());
+        }
+    }
+
+    /**
+     * 변경 반영 (트랜잭션 중이면 커밋 후). 아직 적재 전이면 적재 시 DB에서 읽으므로 건너뜀
+     */
+    private void afterCommit(Long roundId, Runnable change) {
+        Runnable apply = () -> {
+            lock.writeLock().lock();
+            try {
+                if (!loaded) return;
+                change.run();
+                version.incrementAndGet();
+            } catch (Exception e) {
+                // 순위표가 어긋났을 수 있으므로 다음 조회 때 전체를 다시 적재
+                loaded = false;
+                log.warn("Leaderboard update failed, will reload: {}", e.getMessage());
+            } finally {
+                lock.writeLock().unlock();
+            }
+            publishRanking(roundId);
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    /**
+     * 회차 구독자에게 현재 상위 순위 전송 (쓰기 잠금을 놓은 뒤 호출)
+     */
+    private void publishRanking(Long roundId) {
+        if (!liveEventHub.hasRoundSubscribers(roundId)) return;
+        try {
+            liveEventHub.publishToRound(roundId, "ranking", getTop(roundId, rankingSize));
+        } catch (Exception e) {
+            log.warn("Failed to publish ranking for round {}: {}", roundId, e.getMessage());
+        }
+    }
+
+    private void ensureLoaded() {
+        lock.readLock().lock();
+        try {
+            if (loaded) return;
+        } finally {
+            lock.readLock().unlock();
+        }
+        lock.writeLock().lock();
+        try {
+            if (loaded) return;
+            long start = System.currentTimeMillis();
+            boards.clear();
+            userRounds.clear();
+            List<Exam> exams = examMapper.findAllCompleted();
+            for (Exam exam : exams) {
+                addLoaded(exam);
+            }
+            loaded = true;
+            version.incrementAndGet();
+            log.info("Leaderboards loaded: {} rounds, {} exams in {}ms",
+                    boards.size(), exams.size(), System.currentTimeMillis() - start);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
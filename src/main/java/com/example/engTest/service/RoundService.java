@@ -18,6 +18,8 @@ public class RoundService {
     private final VocabularyService vocabularyService;
     private final MaterialService materialService;
     private final ExamService examService;
+    private final DashboardSnapshotService dashboardSnapshotService;
+    private final RoundLeaderboardService roundLeaderboardService;
 
     public List<Round> getAllRounds() {
         return roundMapper.findAll();
@@ -43,17 +45,22 @@ public class RoundService {
             round.setQuestionCount(20);
         }
         roundMapper.insert(round);
+        dashboardSnapshotService.invalidate();
         return round;
     }
 
     @Transactional
     public void updateRound(Round round) {
         roundMapper.update(round);
+        dashboardSnapshotService.invalidate();
+        // 순위 응답에 회차명이 들어 있으므로 다시 적재
+        roundLeaderboardService.reloadRound(round.getId());
     }
 
     @Transactional
     public void updateRoundStatus(Long id, String status) {
         roundMapper.updateStatus(id, status);
+        dashboardSnapshotService.invalidate();
     }
 
     @Transactional
@@ -65,6 +72,7 @@ public class RoundService {
         vocabularyService.deleteByRoundId(id);
         materialService.deleteByRoundId(id);
         roundMapper.delete(id);
+        dashboardSnapshotService.invalidate();
     }
 
     public List<RoundStats> getRoundStats() {
@@ -0,0 +1,20 @@
+package com.example.engTest.service;
+
+import java.util.Map;
+
+/**
+ * 관리자 운영 통계 제공자
+ * 구현 빈은 AdminController의 /api/admin/stats에서 이름별로 모아 보여준다.
+ */
+public interface StatsProvider {
+
+    /**
+     * 통계 이름 (/api/admin/stats/{name}의 name, kebab-case)
+     */
+    String getStatsName();
+
+    /**
+     * 현재 통계 (조회 시점 값, 순서 유지를 위해 LinkedHashMap 권장)
+     */
+    Map<String, Object> getStats();
+}
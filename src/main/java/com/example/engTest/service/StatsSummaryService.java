@@ -0,0 +1,134 @@
+package com.example.engTest.service;
+
+import com.example.engTest.mapper.StatsSummaryMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 사용자별/회차별 통계 요약 테이블(user_stats, round_stats) 관리
+ * - 시험 제출/재채점/삭제 후 해당 사용자·회차 행만 다시 계산 (트랜잭션 중이면 커밋 직후)
+ * - 갱신 실패 등으로 어긋난 값은 주기적인 전체 재계산(rebuild-cron)으로 맞춘다.
+ */
+@Slf4j
+@Service
+public class StatsSummaryService implements StatsProvider {
+
+    private final StatsSummaryMapper statsSummaryMapper;
+    private final DashboardSnapshotService dashboardSnapshotService;
+    // 갱신은 항상 별도 트랜잭션 (afterCommit 시점에는 끝난 트랜잭션의 커넥션이 아직 묶여 있음)
+    private final TransactionTemplate refreshTransaction;
+
+    private final AtomicLong refreshes = new AtomicLong();
+    private final AtomicLong refreshFailures = new AtomicLong();
+    private final AtomicLong rebuilds = new AtomicLong();
+    private volatile LocalDateTime lastRebuildAt;
+    private volatile long lastRebuildMs;
+
+    public StatsSummaryService(StatsSummaryMapper statsSummaryMapper,
+            DashboardSnapshotService dashboardSnapshotService,
+            PlatformTransactionManager transactionManager) {
+        this.statsSummaryMapper = statsSummaryMapper;
+        this.dashboardSnapshotService = dashboardSnapshotService;
+        this.refreshTransaction = new TransactionTemplate(transactionManager);
+        this.refreshTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * 한 사용자/회차의 통계 갱신 예약
+     */
+    public void refresh(Long userId, Long roundId) {
+        refresh(userId == null ? List.of() : List.of(userId), roundId);
+    }
+
+    /**
+     * 여러 사용자와 한 회차의 통계 갱신 예약 (회차 단위 삭제 등)
+     * 커밋된 값으로 계산해야 하므로 트랜잭션 중이면 커밋 후에 실행한다. 롤백되면 갱신할 것이 없다.
+     */
+    public void refresh(Collection<Long> userIds, Long roundId) {
+        Set<Long> users = new LinkedHashSet<>(userIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    doRefresh(users, roundId);
+                }
+            });
+        } else {
+            doRefresh(users, roundId);
+        }
+    }
+
+    /**
+     * 전체 재계산 (매일 새벽, 관리자 요청 시)
+     */
+    @Scheduled(cron = "${stats-summary.rebuild-cron:0 30 3 * * *}")
+    public Map<String, Object> rebuild() {
+        long start = System.currentTimeMillis();
+        int users = statsSummaryMapper.rebuildUserStats();
+        int rounds = statsSummaryMapper.rebuildRoundStats();
+        lastRebuildMs = System.currentTimeMillis() - start;
+        lastRebuildAt = LocalDateTime.now();
+        rebuilds.incrementAndGet();
+        dashboardSnapshotService.rebuildAsync();
+        log.info("Stats summary rebuilt in {}ms (user rows: {}, round rows: {})", lastRebuildMs, users, rounds);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("userRows", users);
+        result.put("roundRows", rounds);
+        result.put("elapsedMs", lastRebuildMs);
+        return result;
+    }
+
+    @Override
+    public String getStatsName() {
+        return "stats-summary";
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("refreshes", refreshes.get());
+        stats.put("refreshFailures", refreshFailures.get());
+        stats.put("rebuilds", rebuilds.get());
+        stats.put("lastRebuildAt", lastRebuildAt);
+        stats.put("lastRebuildMs", lastRebuildMs);
+        return stats;
+    }
+
+    // ========== Internal ==========
+
+    private void doRefresh(Set<Long> userIds, Long roundId) {
+        try {
+            refreshTransaction.executeWithoutResult(status -> {
+                for (Long userId : userIds) {
+                    statsSummaryMapper.refreshUserStats(userId);
+                }
+                if (roundId != null) {
+                    statsSummaryMapper.refreshRoundStats(roundId);
+                }
+            });
+            refreshes.incrementAndGet();
+            // 갱신 트랜잭션이 커밋된 뒤이므로 바로 재생성 예약
+            dashboardSnapshotService.rebuildAsync();
+        } catch (Exception e) {
+            // 요약 갱신 실패로 시험 처리를 실패시키지 않음 (다음 전체 재계산에서 맞춰짐)
+            refreshFailures.incrementAndGet();
+            log.warn("Failed to refresh stats summary (users: {}, round: {}): {}", userIds, roundId, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.example.engTest.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * 사용자별 업적 집계 스냅샷
+ * 최초 1회 DB에서 적재한 뒤 시험 완료/로그인/액션 이벤트로 증분 갱신한다.
+ * 업적 체크는 이 스냅샷만 읽으므로 이벤트당 쿼리 수가 업적 수와 무관하게 일정하다.
+ */
+public class UserAchievementSnapshot {
+
+    private final Long userId;
+
+    // === 시험 집계 (제출 시각 오름차순으로 누적) ===
+    private final Set<Long> examIds = new HashSet<>();
+    private final Set<Long> roundIds = new HashSet<>();
+    private int completedExams;
+    private int passedExams;
+    private int onlineExams;
+    private int offlineExams;
+    private int perfectScores;
+    private int weekendExams;
+    private int totalCorrect;
+    private int maxCorrect;
+    private int perfectStreak;
+    private int maxPerfectStreak;
+    private int passStreak;
+    private int maxPassStreak;
+    private Integer lastScore;
+    private Integer previousScore;
+    private int fastestExamMinutes = NO_DURATION;
+    private int fastestPassMinutes = NO_DURATION;
+    private boolean slowPass;
+    private boolean exactlyHalf;
+    private boolean palindromeScore;
+    private boolean zeroScore;
+
+    // === 로그인/액션 ===
+    private final TreeSet<LocalDate> loginDates = new TreeSet<>();
+    private final Map<String, Integer> actionCounts = new HashMap<>();
+    private final Map<String, LocalDate> actionDates = new HashMap<>();
+
+    // === 회차별 순위 (round_id 오름차순, 다른 사용자 제출에 따라 바뀌므로 버전으로 관리) ===
+    private List<Integer> roundRanks = List.of();
+    private long ranksVersion = -1;
+
+    /** 소요 시간 기록이 없을 때의 값 (스피드 업적 역방향 비교용) */
+    public static final int NO_DURATION = 999;
+
+    public UserAchievementSnapshot(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    // === 증분 갱신 ===
+
+    /**
+     * 완료된 시험 1건 반영 (이미 반영된 시험이면 무시)
+     */
+    public synchronized boolean applyExam(Long examId, Long roundId, String mode, int correctCount, int totalCount,
+            boolean passed, Integer durationMinutes, boolean weekend) {
+        if (examId != null && !examIds.add(examId)) {
+            return false;
+        }
+        completedExams++;
+        if (roundId != null) roundIds.add(roundId);
+        if (passed) passedExams++;
+        if ("ONLINE".equals(mode)) onlineExams++;
+        if ("OFFLINE".equals(mode)) offlineExams++;
+        if (weekend) weekendExams++;
+        totalCorrect += correctCount;
+        maxCorrect = Math.max(maxCorrect, correctCount);
+
+        boolean perfect = correctCount == totalCount;
+        if (perfect) perfectScores++;
+        perfectStreak = perfect ? perfectStreak + 1 : 0;
+        maxPerfectStreak = Math.max(maxPerfectStreak, perfectStreak);
+        passStreak = passed ? passStreak + 1 : 0;
+        maxPassStreak = Math.max(maxPassStreak, passStreak);
+
+        previousScore = lastScore;
+        lastScore = correctCount;
+
+        if (durationMinutes != null) {
+            if (durationMinutes > 0) {
+                fastestExamMinutes = Math.min(fastestExamMinutes, durationMinutes);
+                if (passed) fastestPassMinutes = Math.min(fastestPassMinutes, durationMinutes);
+            }
+            if (passed && durationMinutes >= 30) slowPass = true;
+        }
+
+        if (correctCount == 15) exactlyHalf = true;
+        if (correctCount == 0) zeroScore = true;
+        String s = String.valueOf(correctCount);
+        if (s.length() >= 2 && s.equals(new StringBuilder(s).reverse().toString())) palindromeScore = true;
+        return true;
+    }
+
+    public synchronized void applyLogin(LocalDate date) {
+        loginDates.add(date);
+    }
+
+    public synchronized void applyAction(String action, LocalDate date) {
+        actionCounts.merge(action, 1, Integer::sum);
+        actionDates.put(action, date);
+    }
+
+    public synchronized void applyActionCount(String action, int count, LocalDate lastDate) {
+        actionCounts.put(action, count);
+        if (lastDate != null) actionDates.put(action, lastDate);
+    }
+
+    public synchronized void updateRanks(List<Integer> ranks, long version) {
+        this.roundRanks = List.copyOf(ranks);
+        this.ranksVersion = version;
+    }
+
+    // === 조회 ===
+
+    public synchronized int getCompletedExams() { return completedExams; }
+
+    public synchronized int getPassedExams() { return passedExams; }
+
+    public synchronized int getOnlineExams() { return onlineExams; }
+
+    public synchronized int getOfflineExams() { return offlineExams; }
+
+    public synchronized int getPerfectScores() { return perfectScores; }
+
+    public synchronized int getWeekendExams() { return weekendExams; }
+
+    public synchronized int getTotalCorrect() { return totalCorrect; }
+
+    public synchronized int getMaxCorrect() { return maxCorrect; }
+
+    public synchronized int getDistinctRounds() { return roundIds.size(); }
+
+    public synchronized int getMaxPerfectStreak() { return maxPerfectStreak; }
+
+    public synchronized int getMaxPassStreak() { return maxPassStreak; }
+
+    public synchronized int getFastestExamMinutes() { return fastestExamMinutes; }
+
+    public synchronized int getFastestPassMinutes() { return fastestPassMinutes; }
+
+    public synchronized boolean hasSlowPass() { return slowPass; }
+
+    public synchronized boolean hasExactlyHalf() { return exactlyHalf; }
+
+    public synchronized boolean hasPalindromeScore() { return palindromeScore; }
+
+    public synchronized boolean hasZeroScore() { return zeroScore; }
+
+    /**
+     * 최근 두 시험의 점수 향상폭 (향상 없으면 0)
+     */
+    public synchronized int getScoreImprovement() {
+        if (lastScore == null || previousScore == null) return 0;
+        return Math.max(0, lastScore - previousScore);
+    }
+
+    /**
+     * 평균 정답 수 (시험 수가 minExams 미만이면 null)
+     */
+    public synchronized Double getAvgCorrect(int minExams) {
+        if (completedExams == 0 || completedExams < minExams) return null;
+        return (double) totalCorrect / completedExams;
+    }
+
+    public synchronized List<LocalDate> getLoginDates() {
+        return new ArrayList<>(loginDates);
+    }
+
+    public synchronized int getActionCount(String action) {
+        return actionCounts.getOrDefault(action, 0);
+    }
+
+    public synchronized List<LocalDate> getActionDates(String action) {
+        LocalDate date = actionDates.get(action);
+        return date != null ? List.of(date) : List.of();
+    }
+
+    public synchronized int countActionsWithPrefix(String prefix) {
+        return (int) actionCounts.keySet().stream().filter(a -> a.startsWith(prefix)).count();
+    }
+
+    public synchronized List<Integer> getRoundRanks() {
+        return roundRanks;
+    }
+
+    public synchronized long getRanksVersion() {
+        return ranksVersion;
+    }
+}
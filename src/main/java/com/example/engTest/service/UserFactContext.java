@@ -0,0 +1,110 @@
+package com.example.engTest.service;
+
+import com.example.engTest.mapper.AchievementMapper;
+import com.example.engTest.mapper.BookChapterMapper;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 업적 체크 1회(pass) 동안만 유지되는 사용자 사실(fact) 컨텍스트
+ * 스냅샷에 없는 데이터(교재 진도, 회차 간 비교 등)를 처음 필요할 때 한 번만 조회하고
+ * 같은 pass 안의 모든 check(...) 호출이 결과를 공유한다. 스레드 간 공유하지 않는다.
+ */
+public class UserFactContext {
+
+    private final UserAchievementSnapshot snapshot;
+    private final AchievementMapper achievementMapper;
+    private final BookChapterMapper bookChapterMapper;
+
+    private final Map<String, Object> facts = new HashMap<>();
+    private int queriesIssued;
+    private int queriesAvoided;
+
+    UserFactContext(UserAchievementSnapshot snapshot, AchievementMapper achievementMapper,
+            BookChapterMapper bookChapterMapper) {
+        this.snapshot = snapshot;
+        this.achievementMapper = achievementMapper;
+        this.bookChapterMapper = bookChapterMapper;
+    }
+
+    public Long getUserId() {
+        return snapshot.getUserId();
+    }
+
+    public UserAchievementSnapshot snapshot() {
+        return snapshot;
+    }
+
+    // === 지연 조회 데이터 ===
+
+    public int getCompletedChapterCount(int bookId) {
+        return memo("completedChapters:" + bookId, () -> sizeOf(
+                bookChapterMapper.findCompletedChapterIdsByUserIdAndBookId(getUserId(), bookId)));
+    }
+
+    public int getCompletedChapterCount() {
+        return memo("completedChapters", () -> sizeOf(bookChapterMapper.findCompletedChapterIdsByUserId(getUserId())));
+    }
+
+    public int getCompletedParts() {
+        return memo("completedParts", () -> bookChapterMapper.countCompletedParts(getUserId()));
+    }
+
+    public int getVocabularyCount() {
+        return memo("vocabularyCount", () -> {
+            Integer count = bookChapterMapper.getTotalVocabularyCountByUserId(getUserId());
+            return count != null ? count : 0;
+        });
+    }
+
+    public int getFirstSubmissionCount() {
+        return memo("firstSubmissions", () -> achievementMapper.countFirstSubmissions(getUserId()));
+    }
+
+    public int getFullParticipationRounds() {
+        return memo("fullParticipationRounds", () -> achievementMapper.countFullParticipationRounds(getUserId()));
+    }
+
+    public int getSameScoreExams() {
+        return memo("sameScoreExams", () -> achievementMapper.countSameScoreExams(getUserId()));
+    }
+
+    public int getLastQuestionCorrect() {
+        return memo("lastQuestionCorrect", () -> achievementMapper.countLastQuestionCorrect(getUserId()));
+    }
+
+    public int getGoldOrAboveCount() {
+        return memo("goldOrAbove", () -> achievementMapper.countGoldOrAboveByUser(getUserId()));
+    }
+
+    // === 지표 ===
+
+    /** 이번 pass에서 실제로 실행한 쿼리 수 */
+    public int getQueriesIssued() {
+        return queriesIssued;
+    }
+
+    /** 이번 pass에서 재사용으로 생략한 쿼리 수 */
+    public int getQueriesAvoided() {
+        return queriesAvoided;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T memo(String key, Supplier<T> loader) {
+        if (facts.containsKey(key)) {
+            queriesAvoided++;
+            return (T) facts.get(key);
+        }
+        T value = loader.get();
+        queriesIssued++;
+        facts.put(key, value);
+        return value;
+    }
+
+    private static int sizeOf(List<?> list) {
+        return list != null ? list.size() : 0;
+    }
+}
@@ -5,8 +5,11 @@ import com.example.engTest.dto.UserStats;
 import com.example.engTest.mapper.AchievementMapper;
 import com.example.engTest.mapper.UserMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
 
@@ -16,6 +19,8 @@ public class UserService {
 
     private final UserMapper userMapper;
     private final AchievementMapper achievementMapper;
+    // DashboardSnapshotService가 UserService를 쓰므로 순환을 피해 필요할 때 조회
+    private final ObjectProvider<DashboardSnapshotService> dashboardSnapshotService;
 
     public List<User> getAllUsers() {
         return userMapper.findAll();
@@ -25,12 +30,17 @@ public class UserService {
         return userMapper.findById(id);
     }
 
+    /**
+     * 이름으로 사용자 조회, 없으면 가입
+     * 새로 가입하면 커밋 후 대시보드 스냅샷을 무효화해 사용자 목록에 추가되게 한다.
+     */
     @Transactional
     public User getOrCreateUser(String name) {
         User user = userMapper.findByName(name);
         if (user == null) {
             user = User.builder().name(name).build();
             userMapper.insert(user);
+            afterCommit(() -> dashboardSnapshotService.getObject().invalidate());
         }
         return user;
     }
@@ -47,4 +57,17 @@ public class UserService {
     public UserStats getUserStatsById(Long userId) {
         return userMapper.getUserStatsById(userId);
     }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
 }
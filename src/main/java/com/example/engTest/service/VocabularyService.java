@@ -8,7 +8,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Service
@@ -16,7 +18,7 @@ import java.util.List;
 public class VocabularyService {
 
     private final VocabularyMapper vocabularyMapper;
-    private final GeminiService geminiService;
+    private final PhoneticDictionaryService phoneticDictionaryService;
 
     public List<VocabularyWord> getVocabularyByRoundId(Long roundId) {
         return vocabularyMapper.findByRoundId(roundId);
@@ -41,28 +43,28 @@ public class VocabularyService {
 
         // 새 단어 파싱
         List<String> englishWordsToGenerate = new ArrayList<>();
+        Map<String, String> userPhonetics = new HashMap<>();
         List<VocabularyWord> vocabularyWords = new ArrayList<>();
 
-        // 1차 파싱: 영어 단어 목록 추출
+        // 1차 파싱: 발음기호가 필요한 영어 단어 / 사용자가 입력한 발음기호 분리
         for (String word : words) {
             if (word == null || word.trim().isEmpty())
                 continue;
             String[] parts = word.split(":", 3);
             String english = parts[0].trim();
-            if (!english.isEmpty()) {
+            if (english.isEmpty())
+                continue;
+            if (parts.length > 2 && !parts[2].trim().isEmpty()) {
+                userPhonetics.put(english, parts[2].trim());
+            } else {
                 englishWordsToGenerate.add(english);
             }
         }
 
-        // Gemini를 통해 발음기호 일괄 생성 (영어 단어가 있을 경우에만)
-        java.util.Map<String, String> phoneticsMap = new java.util.HashMap<>();
-        if (!englishWordsToGenerate.isEmpty()) {
-            try {
-                phoneticsMap = geminiService.generatePhonetics(englishWordsToGenerate);
-            } catch (Exception e) {
-                // 발음기호 생성 실패 시 로그를 남기고 빈 맵으로 진행 (단어 저장은 문제없게)
-                log.warn("Failed to generate phonetics: {}", e.getMessage());
-            }
+        // 발음기호 사전 조회 (사전에 없는 단어만 Gemini로 생성)
+        Map<String, String> phoneticsMap = phoneticDictionaryService.resolve(englishWordsToGenerate);
+        if (!userPhonetics.isEmpty()) {
+            phoneticDictionaryService.learn(userPhonetics);
         }
 
         // 2차 처리: 객체 생성 및 발음기호 매핑
@@ -73,7 +75,7 @@ public class VocabularyService {
             String[] parts = word.split(":", 3);
             String english = parts[0].trim();
             String korean = parts.length > 1 ? parts[1].trim() : "";
-            // 사용자가 입력한 발음기호가 있으면 우선 사용, 없으면 Gemini 생성값 사용
+            // 사용자가 입력한 발음기호가 있으면 우선 사용, 없으면 사전/Gemini 값 사용
             String phonetic = (parts.length > 2 && !parts[2].trim().isEmpty())
                     ? parts[2].trim()
                     : phoneticsMap.getOrDefault(english, "");
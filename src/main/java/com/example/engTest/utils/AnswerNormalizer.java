@@ -0,0 +1,191 @@
+package com.example.engTest.utils;
+
+import java.util.Map;
+
+/**
+ * 채점용 답안 정규화
+ * 축약형 확장(I'm -> I am 등) + 소문자 변환 + 영숫자만 유지를 문자열 한 번 순회로 처리한다.
+ * 축약형은 트라이로 미리 컴파일해 두고, 각 위치에서 가장 긴 축약형을 찾아 확장한다.
+ */
+public final class AnswerNormalizer {
+
+    /**
+     * 영어 축약형 → 풀어쓴 형태 매핑 테이블
+     */
+    private static final Map<String, String> CONTRACTIONS = Map.ofEntries(
+            // be 동사
+            Map.entry("i'm", "i am"),
+            Map.entry("you're", "you are"),
+            Map.entry("he's", "he is"),
+            Map.entry("she's", "she is"),
+            Map.entry("it's", "it is"),
+            Map.entry("we're", "we are"),
+            Map.entry("they're", "they are"),
+            Map.entry("that's", "that is"),
+            Map.entry("there's", "there is"),
+            Map.entry("here's", "here is"),
+            Map.entry("what's", "what is"),
+            Map.entry("who's", "who is"),
+            Map.entry("how's", "how is"),
+            Map.entry("where's", "where is"),
+
+            // not 축약
+            Map.entry("isn't", "is not"),
+            Map.entry("aren't", "are not"),
+            Map.entry("wasn't", "was not"),
+            Map.entry("weren't", "were not"),
+            Map.entry("don't", "do not"),
+            Map.entry("doesn't", "does not"),
+            Map.entry("didn't", "did not"),
+            Map.entry("can't", "cannot"),
+            Map.entry("couldn't", "could not"),
+            Map.entry("won't", "will not"),
+            Map.entry("wouldn't", "would not"),
+            Map.entry("shouldn't", "should not"),
+            Map.entry("mustn't", "must not"),
+            Map.entry("haven't", "have not"),
+            Map.entry("hasn't", "has not"),
+            Map.entry("hadn't", "had not"),
+
+            // will 축약
+            Map.entry("i'll", "i will"),
+            Map.entry("you'll", "you will"),
+            Map.entry("he'll", "he will"),
+            Map.entry("she'll", "she will"),
+            Map.entry("it'll", "it will"),
+            Map.entry("we'll", "we will"),
+            Map.entry("they'll", "they will"),
+            Map.entry("that'll", "that will"),
+
+            // would 축약
+            Map.entry("i'd", "i would"),
+            Map.entry("you'd", "you would"),
+            Map.entry("he'd", "he would"),
+            Map.entry("she'd", "she would"),
+            Map.entry("it'd", "it would"),
+            Map.entry("we'd", "we would"),
+            Map.entry("they'd", "they would"),
+
+            // have 축약
+            Map.entry("i've", "i have"),
+            Map.entry("you've", "you have"),
+            Map.entry("we've", "we have"),
+            Map.entry("they've", "they have"),
+            Map.entry("could've", "could have"),
+            Map.entry("would've", "would have"),
+            Map.entry("should've", "should have"),
+            Map.entry("might've", "might have"),
+            Map.entry("must've", "must have"),
+
+            // 기타
+            Map.entry("let's", "let us"),
+            Map.entry("y'all", "you all"));
+
+    // 트라이 알파벳: a-z(0~25) + 아포스트로피(26)
+    private static final int APOSTROPHE = 26;
+    private static final int ALPHABET = 27;
+
+    private static final Node ROOT = buildTrie();
+
+    private static final class Node {
+        final Node[] children = new Node[ALPHABET];
+        // 이 노드에서 끝나는 축약형의 확장 결과 (이미 영숫자만 남긴 형태)
+        String expansion;
+    }
+
+    private AnswerNormalizer() {
+    }
+
+    /**
+     * 답안 정규화 (null이면 빈 문자열)
+     * 예: "I'm  Fine!" -> "iamfine"
+     */
+    public static String normalize(String answer) {
+        if (answer == null || answer.isEmpty()) return "";
+
+        int len = answer.length();
+        StringBuilder out = new StringBuilder(len + 8);
+        int i = 0;
+        while (i < len) {
+            // 현재 위치에서 가장 긴 축약형 찾기
+            Node node = ROOT;
+            String expansion = null;
+            int matchEnd = i;
+            for (int j = i; j < len; j++) {
+                int idx = indexOf(answer.charAt(j));
+                if (idx < 0 || (node = node.children[idx]) == null) break;
+                if (node.expansion != null) {
+                    expansion = node.expansion;
+                    matchEnd = j + 1;
+                }
+            }
+
+            if (expansion != null) {
+                out.append(expansion);
+                i = matchEnd;
+            } else {
+                char c = lower(answer.charAt(i));
+                if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')) {
+                    out.append(c);
+                }
+                i++;
+            }
+        }
+        return out.toString();
+    }
+
+    /**
+     * 정규화된 사용자 답안이 정규화된 정답 목록 중 하나와 일치하는지
+     */
+    public static boolean matches(String normalizedUser, String[] normalizedAccepted) {
+        for (String accepted : normalizedAccepted) {
+            if (normalizedUser.equals(accepted)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * 정답 + 대체 정답('|' 구분)을 정규화한 배열
+     */
+    public static String[] normalizeAccepted(String answer, String altAnswers) {
+        if (altAnswers == null || altAnswers.isBlank()) {
+            return new String[]{normalize(answer)};
+        }
+        String[] alts = altAnswers.split("\\|");
+        String[] accepted = new String[alts.length + 1];
+        accepted[0] = normalize(answer);
+        for (int i = 0; i < alts.length; i++) {
+            accepted[i + 1] = normalize(alts[i].trim());
+        }
+        return accepted;
+    }
+
+    private static int indexOf(char c) {
+        char l = lower(c);
+        if (l >= 'a' && l <= 'z') return l - 'a';
+        // OCR/모바일 키보드의 둥근 따옴표도 아포스트로피로 취급
+        if (c == '\'' || c == '’') return APOSTROPHE;
+        return -1;
+    }
+
+    private static char lower(char c) {
+        if (c >= 'A' && c <= 'Z') return (char) (c + ('a' - 'A'));
+        return c < 128 ? c : Character.toLowerCase(c);
+    }
+
+    private static Node buildTrie() {
+        Node root = new Node();
+        for (Map.Entry<String, String> entry : CONTRACTIONS.entrySet()) {
+            Node node = root;
+            for (char c : entry.getKey().toCharArray()) {
+                int idx = indexOf(c);
+                if (node.children[idx] == null) {
+                    node.children[idx] = new Node();
+                }
+                node = node.children[idx];
+            }
+            node.expansion = entry.getValue().replace(" ", "");
+        }
+        return root;
+    }
+}
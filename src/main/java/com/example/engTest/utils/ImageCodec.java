@@ -0,0 +1,132 @@
+package com.example.engTest.utils;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * ImageIO 디코딩/인코딩 헬퍼
+ * 큰 사진은 서브샘플링으로 디코딩해 원본 해상도의 래스터를 메모리에 올리지 않는다.
+ */
+public final class ImageCodec {
+
+    private ImageCodec() {
+    }
+
+    /**
+     * 디코딩 결과 (원본 크기 포함)
+     */
+    public record Decoded(BufferedImage image, int sourceWidth, int sourceHeight) {
+    }
+
+    /**
+     * 서브샘플링 디코딩, 읽을 수 없는 형식이면 null
+     * @param step 원본 긴 변 → 서브샘플링 간격 (예: 긴 변 4000, 목표 2048이면 2)
+     */
+    public static Decoded decode(ImageInputStream iis, IntUnaryOperator step) throws IOException {
+        if (iis == null) return null;
+        Iterator<ImageReader> readers = ImageIO.getImageReaders(iis);
+        if (!readers.hasNext()) return null;
+
+        ImageReader reader = readers.next();
+        try {
+            reader.setInput(iis, true, true);
+            int width = reader.getWidth(0);
+            int height = reader.getHeight(0);
+            int s = Math.max(1, step.applyAsInt(Math.max(width, height)));
+
+            ImageReadParam param = reader.getDefaultReadParam();
+            param.setSourceSubsampling(s, s, 0, 0);
+            return new Decoded(reader.read(0, param), width, height);
+        } finally {
+            reader.dispose();
+        }
+    }
+
+    /**
+     * 긴 변이 maxLongEdge 이하가 되도록 축소 (이미 작으면 그대로)
+     */
+    public static BufferedImage scaleDown(BufferedImage image, int maxLongEdge, int imageType) {
+        int longEdge = Math.max(image.getWidth(), image.getHeight());
+        if (longEdge <= maxLongEdge && image.getType() == imageType) {
+            return image;
+        }
+        double scale = Math.min(1.0, (double) maxLongEdge / longEdge);
+        int w = Math.max(1, (int) Math.round(image.getWidth() * scale));
+        int h = Math.max(1, (int) Math.round(image.getHeight() * scale));
+        return redraw(image, w, h, imageType);
+    }
+
+    /**
+     * 지정 타입/크기로 다시 그리기 (투명 영역은 흰색)
+     */
+    public static BufferedImage redraw(BufferedImage image, int width, int height, int imageType) {
+        BufferedImage out = new BufferedImage(width, height, imageType);
+        Graphics2D g = out.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(image, 0, 0, width, height, Color.WHITE, null);
+        } finally {
+            g.dispose();
+        }
+        return out;
+    }
+
+    /**
+     * JPEG 인코딩 결과를 base64 문자열로 (중간 byte[] 없이 base64 스트림에 바로 기록)
+     * 알파 채널이 있으면 흰 배경 RGB로 변환한다.
+     */
+    public static String toJpegBase64(BufferedImage image, float quality) throws IOException {
+        BufferedImage writable = image;
+        int type = image.getType();
+        if (type != BufferedImage.TYPE_INT_RGB && type != BufferedImage.TYPE_3BYTE_BGR
+                && type != BufferedImage.TYPE_BYTE_GRAY) {
+            writable = redraw(image, image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+        }
+
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByMIMEType("image/jpeg");
+        if (!writers.hasNext()) {
+            throw new IOException("No JPEG writer available");
+        }
+        ImageWriter writer = writers.next();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (OutputStream encoder = Base64.getEncoder().wrap(out);
+                MemoryCacheImageOutputStream ios = new MemoryCacheImageOutputStream(encoder)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            writer.setOutput(ios);
+            writer.write(null, new IIOImage(writable, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toString(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * base64 문자열이 나타내는 원래 바이트 수
+     */
+    public static long decodedLength(String base64) {
+        int len = base64.length();
+        int padding = len > 0 && base64.charAt(len - 1) == '=' ? (len > 1 && base64.charAt(len - 2) == '=' ? 2 : 1) : 0;
+        return (long) len / 4 * 3 - padding;
+    }
+}
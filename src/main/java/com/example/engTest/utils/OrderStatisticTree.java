@@ -0,0 +1,182 @@
+package com.example.engTest.utils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 순위 조회가 가능한 정렬 집합 (서브트리 크기를 유지하는 treap)
+ * 추가/삭제/순위(countLessThan)/k번째 조회가 모두 기대 O(log n), 앞에서 k개 조회는 O(log n + k).
+ * comparator 기준으로 같은 원소는 하나만 저장한다. 스레드 안전하지 않으므로 호출 측에서 동기화한다.
+ */
+public final class OrderStatisticTree<E> {
+
+    private static final class Node<E> {
+        final E value;
+        final int priority;
+        int size = 1;
+        Node<E> left;
+        Node<E> right;
+
+        Node(E value) {
+            this.value = value;
+            this.priority = ThreadLocalRandom.current().nextInt();
+        }
+    }
+
+    private final Comparator<? super E> comparator;
+    private Node<E> root;
+
+    public OrderStatisticTree(Comparator<? super E> comparator) {
+        this.comparator = comparator;
+    }
+
+    public int size() {
+        return size(root);
+    }
+
+    public boolean contains(E value) {
+        Node<E> node = root;
+        while (node != null) {
+            int c = comparator.compare(value, node.value);
+            if (c == 0) return true;
+            node = c < 0 ? node.left : node.right;
+        }
+        return false;
+    }
+
+    /**
+     * 추가 (같은 원소가 이미 있으면 false)
+     */
+    public boolean add(E value) {
+        if (contains(value)) return false;
+        Node<E>[] parts = split(root, value, false);
+        root = merge(merge(parts[0], new Node<>(value)), parts[1]);
+        return true;
+    }
+
+    /**
+     * 삭제 (없으면 false)
+     */
+    public boolean remove(E value) {
+        if (!contains(value)) return false;
+        Node<E>[] lessAndRest = split(root, value, false);
+        Node<E>[] equalAndGreater = split(lessAndRest[1], value, true);
+        root = merge(lessAndRest[0], equalAndGreater[1]);
+        return true;
+    }
+
+    /**
+     * value보다 앞에 오는 원소 수 (value가 없어도 들어갈 위치 기준)
+     */
+    public int countLessThan(E value) {
+        int count = 0;
+        Node<E> node = root;
+        while (node != null) {
+            if (comparator.compare(node.value, value) < 0) {
+                count += size(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * index번째 원소 (0부터)
+     */
+    public E get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("index " + index + ", size " + size());
+        }
+        Node<E> node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                return node.value;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    /**
+     * 앞에서부터 최대 limit개 (정렬 순서)
+     */
+    public List<E> head(int limit) {
+        List<E> result = new ArrayList<>(Math.min(Math.max(limit, 0), size()));
+        Deque<Node<E>> stack = new ArrayDeque<>();
+        Node<E> node = root;
+        while ((node != null || !stack.isEmpty()) && result.size() < limit) {
+            while (node != null) {
+                stack.push(node);
+                node = node.left;
+            }
+            node = stack.pop();
+            result.add(node.value);
+            node = node.right;
+        }
+        return result;
+    }
+
+    public void clear() {
+        root = null;
+    }
+
+    // ========== Internal ==========
+
+    /**
+     * [key보다 앞(inclusive면 key 포함), 나머지]로 분할
+     */
+    @SuppressWarnings("unchecked")
+    private Node<E>[] split(Node<E> node, E key, boolean inclusive) {
+        if (node == null) {
+            return new Node[]{null, null};
+        }
+        int c = comparator.compare(node.value, key);
+        boolean goesLeft = inclusive ? c <= 0 : c < 0;
+        if (goesLeft) {
+            Node<E>[] parts = split(node.right, key, inclusive);
+            node.right = parts[0];
+            update(node);
+            parts[0] = node;
+            return parts;
+        }
+        Node<E>[] parts = split(node.left, key, inclusive);
+        node.left = parts[1];
+        update(node);
+        parts[1] = node;
+        return parts;
+    }
+
+    /**
+     * a의 모든 원소가 b보다 앞이어야 함
+     */
+    private Node<E> merge(Node<E> a, Node<E> b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        if (a.priority > b.priority) {
+            a.right = merge(a.right, b);
+            update(a);
+            return a;
+        }
+        b.left = merge(a, b.left);
+        update(b);
+        return b;
+    }
+
+    private void update(Node<E> node) {
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+
+    private static int size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+}
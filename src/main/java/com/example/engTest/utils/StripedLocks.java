@@ -0,0 +1,28 @@
+package com.example.engTest.utils;
+
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 고정 개수의 락을 키 해시로 나눠 쓰는 striped lock
+ * 키마다 락 객체를 만들지 않으면서, 서로 다른 키는 (해시 충돌이 없는 한) 병렬로 진행된다.
+ */
+public final class StripedLocks {
+
+    private final ReentrantLock[] locks;
+
+    public StripedLocks(int stripes) {
+        // 2의 거듭제곱으로 맞춰 비트 마스크로 인덱싱
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.locks = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    public ReentrantLock lockFor(Object... keys) {
+        int h = Objects.hash(keys);
+        h ^= (h >>> 16);
+        return locks[h & (locks.length - 1)];
+    }
+}
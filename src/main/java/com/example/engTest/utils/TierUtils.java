@@ -9,6 +9,9 @@ public final class TierUtils {
 
     public static final String[] TIER_ORDER = {"BRONZE", "SILVER", "GOLD", "DIAMOND"};
 
+    // 기준값 배열에서 해당 티어 기준이 없음을 나타내는 값
+    public static final int NO_THRESHOLD = Integer.MIN_VALUE;
+
     private TierUtils() {
     }
 
@@ -32,4 +35,18 @@ public final class TierUtils {
             return null;
         }
     }
+
+    /**
+     * 티어 기준값 JSON을 TIER_ORDER 인덱스의 배열로 변환 (없는 티어는 NO_THRESHOLD)
+     */
+    public static int[] parseThresholdArray(ObjectMapper objectMapper, String json) {
+        Map<String, Integer> map = parseThresholds(objectMapper, json);
+        if (map == null) return null;
+        int[] thresholds = new int[TIER_ORDER.length];
+        for (int i = 0; i < TIER_ORDER.length; i++) {
+            Integer value = map.get(TIER_ORDER[i]);
+            thresholds[i] = value != null ? value : NO_THRESHOLD;
+        }
+        return thresholds;
+    }
 }
@@ -0,0 +1,50 @@
+-- migrate_v10_stats_summary.sql
+-- 사용자별/회차별 통계 요약 테이블
+-- 대시보드가 매번 v_user_stats / v_round_stats 뷰(exams 전체 GROUP BY)를 다시 집계하지 않도록,
+-- 시험 제출/재채점/삭제 시 해당 사용자·회차 행만 다시 계산해 저장한다. (통계 재계산 작업이 주기적으로 전체를 맞춤)
+
+CREATE TABLE IF NOT EXISTS user_stats (
+    user_id BIGINT NOT NULL PRIMARY KEY,
+    total_exams INT NOT NULL DEFAULT 0,
+    avg_score DECIMAL(7,2),
+    max_score DECIMAL(5,2),
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE IF NOT EXISTS round_stats (
+    round_id BIGINT NOT NULL PRIMARY KEY,
+    exam_count INT NOT NULL DEFAULT 0,
+    user_count INT NOT NULL DEFAULT 0,
+    avg_score DECIMAL(7,2),
+    max_score DECIMAL(5,2),
+    min_score DECIMAL(5,2),
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    FOREIGN KEY (round_id) REFERENCES rounds(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- 회차/사용자별 재계산 쿼리가 완료 시험만 인덱스로 읽도록
+CREATE INDEX IF NOT EXISTS idx_exams_user_status ON exams(user_id, status);
+CREATE INDEX IF NOT EXISTS idx_exams_round_status ON exams(round_id, status);
+
+-- 기존 시험 기록으로 초기 데이터 채우기
+INSERT INTO user_stats (user_id, total_exams, avg_score, max_score)
+SELECT u.id, COUNT(e.id), ROUND(AVG(e.score), 2), MAX(e.score)
+FROM users u
+LEFT JOIN exams e ON u.id = e.user_id AND e.status = 'COMPLETED'
+GROUP BY u.id
+ON DUPLICATE KEY UPDATE total_exams = VALUES(total_exams), avg_score = VALUES(avg_score), max_score = VALUES(max_score);
+
+INSERT INTO round_stats (round_id, exam_count, user_count, avg_score, max_score, min_score)
+SELECT r.id, COUNT(DISTINCT e.id), COUNT(DISTINCT e.user_id), ROUND(AVG(e.score), 2), MAX(e.score), MIN(e.score)
+FROM rounds r
+LEFT JOIN exams e ON r.id = e.round_id AND e.status = 'COMPLETED'
+GROUP BY r.id
+ON DUPLICATE KEY UPDATE exam_count = VALUES(exam_count), user_count = VALUES(user_count),
+    avg_score = VALUES(avg_score), max_score = VALUES(max_score), min_score = VALUES(min_score);
+
+-- 확인 (뷰와 요약 테이블 비교, 결과가 없어야 정상)
+SELECT v.user_id, v.total_exams, s.total_exams AS summary_total_exams
+FROM v_user_stats v
+LEFT JOIN user_stats s ON s.user_id = v.user_id
+WHERE s.user_id IS NULL OR v.total_exams <> s.total_exams OR NOT (v.avg_score <=> s.avg_score);
@@ -0,0 +1,18 @@
+-- migrate_v11_activity_log_indexes.sql
+-- 활동 로그 목록 keyset 페이징용 복합 인덱스
+-- 목록 조회는 (user_id, action, 기간) 필터 + ORDER BY created_at DESC, id DESC 이므로
+-- 필터 컬럼 뒤에 (created_at, id)를 붙인 인덱스를 역순으로 읽어 한 페이지만큼만 읽고 멈춘다.
+-- 필터가 없을 때는 기존 idx_logs_created를 사용 (InnoDB 보조 인덱스는 PK(id)를 포함하므로 (created_at, id) 순서와 같음)
+-- 단일 컬럼 idx_logs_user / idx_logs_action은 새 인덱스의 앞부분과 겹치므로 삭제
+
+ALTER TABLE activity_logs
+    ADD INDEX IF NOT EXISTS idx_logs_user_created (user_id, created_at, id),
+    ADD INDEX IF NOT EXISTS idx_logs_action_created (action, created_at, id),
+    ADD INDEX IF NOT EXISTS idx_logs_user_action_created (user_id, action, created_at, id);
+
+ALTER TABLE activity_logs
+    DROP INDEX IF EXISTS idx_logs_user,
+    DROP INDEX IF EXISTS idx_logs_action;
+
+-- 확인
+SHOW INDEX FROM activity_logs;
@@ -0,0 +1,14 @@
+-- migrate_v8_exam_answer_upsert.sql
+-- 답안을 (exam_id, question_id) 기준 upsert로 저장하기 위한 유니크 키
+-- 시험 시작 시 빈 답안 행을 미리 만들지 않고, 답한 문제만 기록한다 (미응답 = 오답)
+
+-- 1. 혹시 있을 중복 답안 정리 (가장 최근 행만 유지)
+DELETE ea FROM exam_answers ea
+JOIN exam_answers newer
+  ON newer.exam_id = ea.exam_id AND newer.question_id = ea.question_id AND newer.id > ea.id;
+
+-- 2. 유니크 키 추가
+ALTER TABLE exam_answers ADD UNIQUE KEY IF NOT EXISTS uk_exam_answers_exam_question (exam_id, question_id);
+
+-- 확인
+SHOW INDEX FROM exam_answers WHERE Key_name = 'uk_exam_answers_exam_question';
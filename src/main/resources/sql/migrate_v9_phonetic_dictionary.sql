@@ -0,0 +1,22 @@
+-- migrate_v9_phonetic_dictionary.sql
+-- 발음기호 사전: 단어(소문자) → IPA
+-- 단어 저장 시 사전을 먼저 확인하고, 사전에 없는 단어만 Gemini로 생성해 추가한다.
+-- source: VOCABULARY(기존 단어장에서 이관), GEMINI(AI 생성), USER(사용자 입력)
+
+CREATE TABLE IF NOT EXISTS phonetic_dictionary (
+    word VARCHAR(200) NOT NULL PRIMARY KEY,
+    phonetic VARCHAR(200) NOT NULL,
+    source VARCHAR(20) NOT NULL DEFAULT 'GEMINI',
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- 기존 단어장의 발음기호로 초기 데이터 채우기 (같은 단어가 여러 번 있으면 가장 최근 값)
+INSERT IGNORE INTO phonetic_dictionary (word, phonetic, source)
+SELECT LOWER(TRIM(v.english)), v.phonetic, 'VOCABULARY'
+FROM round_vocabulary v
+WHERE v.phonetic IS NOT NULL AND TRIM(v.phonetic) <> ''
+ORDER BY v.id DESC;
+
+-- 확인
+SELECT source, COUNT(*) AS cnt FROM phonetic_dictionary GROUP BY source;
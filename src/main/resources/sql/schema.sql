@@ -69,10 +69,32 @@ CREATE TABLE IF NOT EXISTS exam_answers (
     ocr_raw_text VARCHAR(500),
     image_path VARCHAR(500),
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    UNIQUE KEY uk_exam_answers_exam_question (exam_id, question_id),
     FOREIGN KEY (exam_id) REFERENCES exams(id) ON DELETE CASCADE,
     FOREIGN KEY (question_id) REFERENCES questions(id)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
+-- 통계 요약 테이블 (시험 제출/재채점/삭제 시 해당 사용자·회차 행만 갱신, 대시보드는 이 테이블을 읽음)
+CREATE TABLE IF NOT EXISTS user_stats (
+    user_id BIGINT NOT NULL PRIMARY KEY,
+    total_exams INT NOT NULL DEFAULT 0,
+    avg_score DECIMAL(7,2),
+    max_score DECIMAL(5,2),
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE IF NOT EXISTS round_stats (
+    round_id BIGINT NOT NULL PRIMARY KEY,
+    exam_count INT NOT NULL DEFAULT 0,
+    user_count INT NOT NULL DEFAULT 0,
+    avg_score DECIMAL(7,2),
+    max_score DECIMAL(5,2),
+    min_score DECIMAL(5,2),
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    FOREIGN KEY (round_id) REFERENCES rounds(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
 -- 통계 뷰 (회차별 평균)
 CREATE OR REPLACE VIEW v_round_stats AS
 SELECT
@@ -103,4 +125,6 @@ GROUP BY u.id, u.name;
 CREATE INDEX IF NOT EXISTS idx_questions_round_id ON questions(round_id);
 CREATE INDEX IF NOT EXISTS idx_exams_user_id ON exams(user_id);
 CREATE INDEX IF NOT EXISTS idx_exams_round_id ON exams(round_id);
+CREATE INDEX IF NOT EXISTS idx_exams_user_status ON exams(user_id, status);
+CREATE INDEX IF NOT EXISTS idx_exams_round_status ON exams(round_id, status);
 CREATE INDEX IF NOT EXISTS idx_exam_answers_exam_id ON exam_answers(exam_id);
@@ -14,9 +14,10 @@ CREATE TABLE IF NOT EXISTS activity_logs (
     response_status INT,
     duration_ms BIGINT,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    INDEX idx_logs_user (user_id),
-    INDEX idx_logs_action (action),
-    INDEX idx_logs_created (created_at)
+    INDEX idx_logs_created (created_at),
+    INDEX idx_logs_user_created (user_id, created_at, id),
+    INDEX idx_logs_action_created (action, created_at, id),
+    INDEX idx_logs_user_action_created (user_id, action, created_at, id)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
 -- 로그 정책 설정 테이블
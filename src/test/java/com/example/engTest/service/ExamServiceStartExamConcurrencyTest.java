@@ -0,0 +1,162 @@
+package com.example.engTest.service;
+
+import com.example.engTest.dto.Exam;
+import com.example.engTest.dto.Question;
+import com.example.engTest.mapper.ExamAnswerMapper;
+import com.example.engTest.mapper.ExamMapper;
+import com.example.engTest.mapper.RoundMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * startExam 동시성: 다른 (userId, roundId)는 병렬로, 같은 쌍은 직렬로 처리되어 시험이 하나만 생성되는지 확인
+ * DB 대신 메모리 ExamMapper를 쓰고, insert에서 잠시 대기해 임계 구역이 겹치는지 측정한다.
+ */
+class ExamServiceStartExamConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final long INSERT_DELAY_MS = 100;
+
+    private final Map<String, Exam> exams = new ConcurrentHashMap<>();
+    private final AtomicLong idSeq = new AtomicLong();
+    private final AtomicInteger inserts = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    private ExamService examService;
+    private ExecutorService pool;
+
+    @BeforeEach
+    void setUp() {
+        ExamMapper examMapper = mock(ExamMapper.class);
+        when(examMapper.findByUserAndRound(anyLong(), anyLong()))
+                .thenAnswer(inv -> exams.get(key(inv.getArgument(0), inv.getArgument(1))));
+        when(examMapper.findInProgressByUserId(anyLong())).thenAnswer(inv -> {
+            Long userId = inv.getArgument(0);
+            List<Exam> result = new ArrayList<>();
+            for (Exam exam : exams.values()) {
+                if (exam.getUserId().equals(userId) && "IN_PROGRESS".equals(exam.getStatus())) {
+                    result.add(exam);
+                }
+            }
+            return result;
+        });
+        doAnswer(inv -> {
+            Exam exam = inv.getArgument(0);
+            int now = inFlight.incrementAndGet();
+            maxInFlight.accumulateAndGet(now, Math::max);
+            try {
+                Thread.sleep(INSERT_DELAY_MS);
+                exam.setId(idSeq.incrementAndGet());
+                exams.put(key(exam.getUserId(), exam.getRoundId()), exam);
+                inserts.incrementAndGet();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            return null;
+        }).when(examMapper).insert(any(Exam.class));
+
+        QuestionService questionService = mock(QuestionService.class);
+        when(questionService.getAnswerKey(anyLong())).thenAnswer(inv -> new AnswerKey(inv.getArgument(0), List.of(
+                Question.builder().id(1L).seqNo(1).answer("apple").build(),
+                Question.builder().id(2L).seqNo(2).answer("banana").build())));
+
+        // 트랜잭션 없이 콜백만 실행
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        when(transactionTemplate.execute(any())).thenAnswer(inv ->
+                inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
+        examService = new ExamService(
+                examMapper,
+                mock(ExamAnswerMapper.class),
+                mock(RoundMapper.class),
+                questionService,
+                mock(AchievementService.class),
+                mock(AchievementStatsService.class),
+                mock(StatsSummaryService.class),
+                mock(RoundLeaderboardService.class),
+                mock(LiveEventHub.class),
+                mock(GeminiService.class),
+                transactionTemplate);
+        pool = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void differentUserRoundPairsRunInParallel() throws Exception {
+        List<Exam> results = runConcurrently(i -> examService.startExam((long) i + 1, 100L, "ONLINE"));
+
+        assertThat(results).extracting(Exam::getId).doesNotHaveDuplicates();
+        assertThat(inserts.get()).isEqualTo(THREADS);
+        // 전역 락이었다면 insert가 절대 겹치지 않음
+        assertThat(maxInFlight.get()).isGreaterThan(1);
+    }
+
+    @Test
+    void sameUserRoundPairIsSerializedAndCreatesOneExam() throws Exception {
+        List<Exam> results = runConcurrently(i -> examService.startExam(1L, 100L, "ONLINE"));
+
+        assertThat(inserts.get()).isEqualTo(1);
+        assertThat(maxInFlight.get()).isEqualTo(1);
+        assertThat(results).extracting(Exam::getId).containsOnly(results.get(0).getId());
+    }
+
+    private interface Call {
+        Exam run(int index) throws Exception;
+    }
+
+    /**
+     * THREADS개 스레드를 latch로 동시에 출발시켜 결과를 모음
+     */
+    private List<Exam> runConcurrently(Call call) throws Exception {
+        CountDownLatch ready = new CountDownLatch(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Exam>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            int index = i;
+            futures.add(pool.submit(() -> {
+                ready.countDown();
+                start.await();
+                return call.run(index);
+            }));
+        }
+        assertThat(ready.await(5, TimeUnit.SECONDS)).isTrue();
+        start.countDown();
+
+        List<Exam> results = new ArrayList<>();
+        for (Future<Exam> future : futures) {
+            results.add(future.get(10, TimeUnit.SECONDS));
+        }
+        return results;
+    }
+
+    private static String key(Long userId, Long roundId) {
+        return userId + ":" + roundId;
+    }
+}
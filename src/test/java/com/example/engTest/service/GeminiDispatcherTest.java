@@ -0,0 +1,138 @@
+package com.example.engTest.service;
+
+import com.example.engTest.config.ApiConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 여러 스레드가 동시에 dispatch할 때 모든 호출이 끝나고 슬롯이 새지 않는지 확인
+ * (대기열 등록과 drain/openBreaker가 경합해도 NPE나 미완료 Mono가 없어야 함)
+ */
+class GeminiDispatcherTest {
+
+    private static final int THREADS = 16;
+    private static final int CALLS = 800;
+    private static final int MAX_CONCURRENT = 4;
+
+    private ApiConfig apiConfig;
+    private ExecutorService pool;
+
+    @BeforeEach
+    void setUp() {
+        apiConfig = new ApiConfig();
+        ApiConfig.GeminiConfig gemini = apiConfig.getGemini();
+        gemini.setMaxConcurrent(MAX_CONCURRENT);
+        // 속도 제한과 대기 시간 초과는 이 테스트의 관심사가 아니므로 넉넉하게
+        gemini.setRatePerMinute(1_000_000);
+        gemini.setBurst(CALLS);
+        gemini.setInteractiveMaxWaitMs(30_000);
+        gemini.setMaxWaitMs(30_000);
+        gemini.setBulkMaxWaitMs(30_000);
+        gemini.setBreakerFailureThreshold(3);
+        gemini.setBreakerOpenMs(60_000);
+        pool = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void concurrentDispatchCompletesEveryCallWithinConcurrencyLimit() throws Exception {
+        GeminiDispatcher dispatcher = new GeminiDispatcher(apiConfig);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        List<CompletableFuture<String>> results = dispatchConcurrently(dispatcher, i -> () -> Mono.fromCallable(() -> {
+            int now = running.incrementAndGet();
+            maxRunning.accumulateAndGet(now, Math::max);
+            try {
+                Thread.sleep(1);
+                return "ok-" + i;
+            } finally {
+                running.decrementAndGet();
+            }
+        }).subscribeOn(Schedulers.boundedElastic()));
+
+        for (int i = 0; i < CALLS; i++) {
+            assertThat(results.get(i).get(10, TimeUnit.SECONDS)).isEqualTo("ok-" + i);
+        }
+        assertThat(maxRunning.get()).isLessThanOrEqualTo(MAX_CONCURRENT);
+        assertThat(dispatcher.getStats())
+                .containsEntry("inFlight", 0)
+                .containsEntry("queued", 0)
+                .containsEntry("dispatched", (long) CALLS)
+                .containsEntry("succeeded", (long) CALLS);
+    }
+
+    @Test
+    void breakerOpeningWhileCallsAreQueuedFailsEveryWaitingCall() throws Exception {
+        GeminiDispatcher dispatcher = new GeminiDispatcher(apiConfig);
+
+        List<CompletableFuture<String>> results = dispatchConcurrently(dispatcher, i -> () ->
+                Mono.<String>error(new GeminiClient.GeminiApiException(503, null, "unavailable"))
+                        .delaySubscription(Duration.ofMillis(1)));
+
+        int failures = 0;
+        for (CompletableFuture<String> result : results) {
+            try {
+                result.get(10, TimeUnit.SECONDS);
+            } catch (ExecutionException e) {
+                failures++;
+            }
+        }
+        assertThat(failures).isEqualTo(CALLS);
+        assertThat(dispatcher.getStats())
+                .containsEntry("breaker", "OPEN")
+                .containsEntry("inFlight", 0)
+                .containsEntry("queued", 0);
+        assertThat(dispatcher.isAvailable()).isFalse();
+    }
+
+    private interface CallFactory {
+        Supplier<Mono<String>> create(int index);
+    }
+
+    /**
+     * THREADS개 스레드가 latch로 동시에 출발해 CALLS건을 나눠 구독
+     */
+    private List<CompletableFuture<String>> dispatchConcurrently(GeminiDispatcher dispatcher, CallFactory factory)
+            throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<CompletableFuture<String>>> submitted = new ArrayList<>();
+        for (int i = 0; i < CALLS; i++) {
+            int index = i;
+            GeminiDispatcher.Priority priority = GeminiDispatcher.Priority.values()[i % 3];
+            submitted.add(pool.submit(() -> {
+                start.await();
+                return dispatcher.dispatch(priority, factory.create(index)).toFuture();
+            }));
+        }
+        start.countDown();
+
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        for (Future<CompletableFuture<String>> future : submitted) {
+            results.add(future.get(10, TimeUnit.SECONDS));
+        }
+        return results;
+    }
+}
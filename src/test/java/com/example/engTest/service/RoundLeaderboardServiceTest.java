@@ -0,0 +1,121 @@
+package com.example.engTest.service;
+
+import com.example.engTest.dto.Exam;
+import com.example.engTest.mapper.ExamMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 메모리 순위표가 이전 SQL(getUserRanksPerRound)과 같은 순위를 내는지 확인
+ * SQL: RANK() OVER (PARTITION BY round_id ORDER BY correct_count DESC, submitted_at ASC), 회차 오름차순
+ */
+class RoundLeaderboardServiceTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2026, 3, 2, 10, 0, 0);
+
+    @Test
+    void userRanksMatchSqlRankWithTies() {
+        // 정답 수와 제출 초가 자주 겹치도록 좁은 범위에서 생성
+        Random random = new Random(7);
+        List<Exam> exams = new ArrayList<>();
+        long examId = 1;
+        for (long roundId = 1; roundId <= 5; roundId++) {
+            for (long userId = 1; userId <= 30; userId++) {
+                if (random.nextInt(5) == 0) continue;
+                exams.add(completed(examId++, userId, roundId, random.nextInt(4), BASE.plusSeconds(random.nextInt(3))));
+            }
+        }
+        RoundLeaderboardService service = serviceLoading(exams);
+
+        for (long userId = 1; userId <= 30; userId++) {
+            assertThat(service.getUserRanks(userId))
+                    .as("user %d", userId)
+                    .isEqualTo(sqlRanks(exams, userId));
+        }
+    }
+
+    @Test
+    void sameScoreInSameSecondTiesAfterIncrementalUpdate() {
+        Exam loaded = completed(1L, 1L, 1L, 20, BASE);
+        RoundLeaderboardService service = serviceLoading(List.of(loaded));
+        assertThat(service.getUserRanks(1L)).containsExactly(1);
+
+        // 제출 직후 반영되는 값은 초 미만을 포함하지만 DB에는 초 단위로 저장됨
+        Exam submitted = completed(2L, 2L, 1L, 20, BASE.plusNanos(700_000_000));
+        service.onExamChanged(submitted);
+
+        assertThat(service.getUserRank(1L, 2L).rank()).isEqualTo(1);
+        assertThat(service.getUserRank(1L, 1L).rank()).isEqualTo(1);
+        assertThat(service.getUserRanks(2L)).isEqualTo(sqlRanks(List.of(loaded, submitted), 2L));
+    }
+
+    @Test
+    void ranksFollowRemovalAndRescore() {
+        List<Exam> exams = new ArrayList<>(List.of(
+                completed(1L, 1L, 1L, 25, BASE),
+                completed(2L, 2L, 1L, 20, BASE.plusSeconds(1)),
+                completed(3L, 3L, 1L, 20, BASE.plusSeconds(2))));
+        RoundLeaderboardService service = serviceLoading(exams);
+        assertThat(service.getUserRank(1L, 3L).rank()).isEqualTo(3);
+
+        service.onExamDeleted(1L, 1L);
+        assertThat(service.getUserRank(1L, 3L).rank()).isEqualTo(2);
+
+        Exam rescored = completed(3L, 3L, 1L, 28, BASE.plusSeconds(2));
+        service.onExamChanged(rescored);
+        assertThat(service.getUserRank(1L, 3L).rank()).isEqualTo(1);
+        assertThat(service.getUserRank(1L, 3L).participants()).isEqualTo(2);
+        assertThat(service.getTop(1L, 1)).extracting(Exam::getId).containsExactly(3L);
+    }
+
+    private static RoundLeaderboardService serviceLoading(List<Exam> exams) {
+        ExamMapper examMapper = mock(ExamMapper.class);
+        when(examMapper.findAllCompleted()).thenReturn(exams);
+        return new RoundLeaderboardService(examMapper, mock(LiveEventHub.class), 10);
+    }
+
+    private static Exam completed(Long id, Long userId, Long roundId, int correctCount, LocalDateTime submittedAt) {
+        return Exam.builder()
+                .id(id)
+                .userId(userId)
+                .roundId(roundId)
+                .correctCount(correctCount)
+                .status("COMPLETED")
+                .submittedAt(submittedAt)
+                .build();
+    }
+
+    /**
+     * 이전 getUserRanksPerRound 쿼리와 같은 계산 (DB는 초 단위로 저장)
+     */
+    private static List<Integer> sqlRanks(List<Exam> exams, Long userId) {
+        Map<Long, List<Integer>> byRound = new TreeMap<>();
+        for (Exam mine : exams) {
+            if (!mine.getUserId().equals(userId)) continue;
+            LocalDateTime mineAt = mine.getSubmittedAt().withNano(0);
+            int ahead = 0;
+            for (Exam other : exams) {
+                if (!other.getRoundId().equals(mine.getRoundId())) continue;
+                LocalDateTime otherAt = other.getSubmittedAt().withNano(0);
+                if (other.getCorrectCount() > mine.getCorrectCount()
+                        || (other.getCorrectCount().equals(mine.getCorrectCount()) && otherAt.isBefore(mineAt))) {
+                    ahead++;
+                }
+            }
+            byRound.computeIfAbsent(mine.getRoundId(), id -> new ArrayList<>()).add(ahead + 1);
+        }
+        List<Integer> ranks = new ArrayList<>();
+        byRound.values().forEach(ranks::addAll);
+        return ranks;
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.engTest.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OrderStatisticTreeTest {
+
+    @Test
+    void addRejectsDuplicatesAndRemoveIgnoresMissing() {
+        OrderStatisticTree<Integer> tree = new OrderStatisticTree<>(Comparator.naturalOrder());
+
+        assertThat(tree.add(5)).isTrue();
+        assertThat(tree.add(3)).isTrue();
+        assertThat(tree.add(5)).isFalse();
+        assertThat(tree.size()).isEqualTo(2);
+
+        assertThat(tree.remove(4)).isFalse();
+        assertThat(tree.size()).isEqualTo(2);
+
+        assertThat(tree.remove(5)).isTrue();
+        assertThat(tree.remove(5)).isFalse();
+        assertThat(tree.contains(5)).isFalse();
+        assertThat(tree.contains(3)).isTrue();
+        assertThat(tree.size()).isEqualTo(1);
+
+        tree.clear();
+        assertThat(tree.size()).isZero();
+        assertThat(tree.remove(3)).isFalse();
+    }
+
+    @Test
+    void countLessThanWorksForProbesNotInTree() {
+        OrderStatisticTree<Integer> tree = new OrderStatisticTree<>(Comparator.naturalOrder());
+        for (int v : new int[]{10, 20, 30, 40}) {
+            tree.add(v);
+        }
+
+        assertThat(tree.countLessThan(5)).isZero();
+        assertThat(tree.countLessThan(10)).isZero();
+        assertThat(tree.countLessThan(25)).isEqualTo(2);
+        assertThat(tree.countLessThan(40)).isEqualTo(3);
+        assertThat(tree.countLessThan(99)).isEqualTo(4);
+        assertThat(new OrderStatisticTree<Integer>(Comparator.naturalOrder()).countLessThan(1)).isZero();
+    }
+
+    @Test
+    void getChecksBounds() {
+        OrderStatisticTree<Integer> tree = new OrderStatisticTree<>(Comparator.naturalOrder());
+        assertThatThrownBy(() -> tree.get(0)).isInstanceOf(IndexOutOfBoundsException.class);
+
+        tree.add(7);
+        tree.add(1);
+        tree.add(4);
+        assertThat(tree.get(0)).isEqualTo(1);
+        assertThat(tree.get(1)).isEqualTo(4);
+        assertThat(tree.get(2)).isEqualTo(7);
+        assertThatThrownBy(() -> tree.get(-1)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> tree.get(3)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void headReturnsFirstElementsInComparatorOrder() {
+        OrderStatisticTree<Integer> tree = new OrderStatisticTree<>(Comparator.reverseOrder());
+        for (int v : new int[]{3, 9, 1, 7, 5}) {
+            tree.add(v);
+        }
+
+        assertThat(tree.head(3)).containsExactly(9, 7, 5);
+        assertThat(tree.head(10)).containsExactly(9, 7, 5, 3, 1);
+        assertThat(tree.head(0)).isEmpty();
+        assertThat(tree.head(-1)).isEmpty();
+    }
+
+    @Test
+    void matchesTreeSetUnderRandomOperations() {
+        Random random = new Random(42);
+        OrderStatisticTree<Integer> tree = new OrderStatisticTree<>(Comparator.naturalOrder());
+        TreeSet<Integer> reference = new TreeSet<>();
+
+        for (int step = 0; step < 20_000; step++) {
+            int value = random.nextInt(500);
+            switch (random.nextInt(4)) {
+                case 0, 1 -> assertThat(tree.add(value)).isEqualTo(reference.add(value));
+                case 2 -> assertThat(tree.remove(value)).isEqualTo(reference.remove(value));
+                default -> {
+                    assertThat(tree.contains(value)).isEqualTo(reference.contains(value));
+                    assertThat(tree.countLessThan(value)).isEqualTo(reference.headSet(value, false).size());
+                }
+            }
+            assertThat(tree.size()).isEqualTo(reference.size());
+
+            if (step % 500 == 0) {
+                List<Integer> sorted = new ArrayList<>(reference);
+                assertThat(tree.head(sorted.size())).isEqualTo(sorted);
+                for (int i = 0; i < sorted.size(); i++) {
+                    assertThat(tree.get(i)).isEqualTo(sorted.get(i));
+                }
+            }
+        }
+    }
+}